@@ -0,0 +1,5 @@
+package com.groupgenius.groupgenius_backend.activity;
+
+/** Live activity numbers shown on a group card. */
+public record GroupActivityStats(long messagesToday, int activeMembers7d, int upcomingSessions) {
+}
@@ -0,0 +1,275 @@
+package com.groupgenius.groupgenius_backend.activity;
+
+import com.groupgenius.groupgenius_backend.cache.LongHashSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-group activity stats for group cards: messages today, distinct active members
+ * over the last {@value #ACTIVE_WINDOW_DAYS} days and upcoming sessions.
+ *
+ * <p>Hot paths only touch memory: messages bump a {@link LongAdder} per group and day,
+ * active members go into a primitive id set per group and day. A scheduled flush writes
+ * the deltas to {@code group_activity_daily} / {@code group_activity_members} and then
+ * re-reads today's message totals, so counts written by other nodes show up within one
+ * flush. Everything is rehydrated from those tables (and {@code sessions}) on startup.
+ *
+ * <p>Active-member sets of other nodes are only picked up at startup; each node counts
+ * the members it has seen plus what was persisted when it started.
+ */
+@Slf4j
+@Component
+public class GroupActivityTracker {
+
+    static final int ACTIVE_WINDOW_DAYS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<DayKey, DayCounter> messageCounters = new ConcurrentHashMap<>();
+    private final Map<DayKey, LongHashSet> activeMembers = new ConcurrentHashMap<>();
+    private final Queue<ActiveMember> pendingMembers = new ConcurrentLinkedQueue<>();
+    private final Map<Long, UpcomingSessions> upcomingSessions = new ConcurrentHashMap<>();
+
+    // Old rollup rows are dropped after this many days
+    @Value("${app.groups.activity.retention-days:30}")
+    private int retentionDays;
+
+    public GroupActivityTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordMessage(Long groupId, Long senderId) {
+        if (groupId == null) {
+            return;
+        }
+        DayKey key = new DayKey(groupId, LocalDate.now());
+        messageCounters.computeIfAbsent(key, k -> new DayCounter()).messages.increment();
+        recordActiveMember(groupId, senderId);
+    }
+
+    /** A member did something in the group today (sent a message, joined, ...). */
+    public void recordActiveMember(Long groupId, Long userId) {
+        if (groupId == null || userId == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LongHashSet members = activeMembers.computeIfAbsent(new DayKey(groupId, today), k -> new LongHashSet());
+        boolean added;
+        synchronized (members) {
+            added = members.add(userId);
+        }
+        if (added) {
+            pendingMembers.add(new ActiveMember(groupId, today, userId));
+        }
+    }
+
+    /** Session created or rescheduled; archived sessions no longer count. */
+    public void onSessionSaved(Long groupId, Long sessionId, LocalDateTime startsAt, boolean archived) {
+        if (groupId == null || sessionId == null) {
+            return;
+        }
+        UpcomingSessions sessions = upcomingSessions.computeIfAbsent(groupId, id -> new UpcomingSessions());
+        synchronized (sessions) {
+            if (archived || startsAt == null) {
+                sessions.startsAt.remove(sessionId);
+            } else {
+                sessions.startsAt.put(sessionId, startsAt);
+            }
+        }
+    }
+
+    public void onSessionRemoved(Long groupId, Long sessionId) {
+        UpcomingSessions sessions = groupId == null ? null : upcomingSessions.get(groupId);
+        if (sessions != null) {
+            synchronized (sessions) {
+                sessions.startsAt.remove(sessionId);
+            }
+        }
+    }
+
+    public GroupActivityStats stats(Long groupId) {
+        LocalDate today = LocalDate.now();
+
+        DayCounter counter = messageCounters.get(new DayKey(groupId, today));
+        long messagesToday = counter == null ? 0 : counter.total();
+
+        LongHashSet distinct = new LongHashSet();
+        for (int i = 0; i < ACTIVE_WINDOW_DAYS; i++) {
+            LongHashSet members = activeMembers.get(new DayKey(groupId, today.minusDays(i)));
+            if (members != null) {
+                synchronized (members) {
+                    members.forEach(distinct::add);
+                }
+            }
+        }
+
+        int upcoming = 0;
+        UpcomingSessions sessions = upcomingSessions.get(groupId);
+        if (sessions != null) {
+            LocalDateTime now = LocalDateTime.now();
+            synchronized (sessions) {
+                for (LocalDateTime startsAt : sessions.startsAt.values()) {
+                    if (startsAt.isAfter(now)) {
+                        upcoming++;
+                    }
+                }
+            }
+        }
+        return new GroupActivityStats(messagesToday, distinct.size(), upcoming);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        LocalDate today = LocalDate.now();
+        try {
+            refreshMessageTotals(today);
+
+            LocalDate windowStart = today.minusDays(ACTIVE_WINDOW_DAYS - 1);
+            jdbcTemplate.query("SELECT group_id, day, user_id FROM group_activity_members WHERE day >= ?",
+                    rs -> {
+                        DayKey key = new DayKey(rs.getLong(1), rs.getDate(2).toLocalDate());
+                        LongHashSet members = activeMembers.computeIfAbsent(key, k -> new LongHashSet());
+                        synchronized (members) {
+                            members.add(rs.getLong(3));
+                        }
+                    }, Date.valueOf(windowStart));
+
+            jdbcTemplate.query("SELECT id, group_id, starts_at FROM sessions WHERE archived = false AND starts_at > ?",
+                    rs -> {
+                        onSessionSaved(rs.getLong(2), rs.getLong(1), rs.getObject(3, LocalDateTime.class), false);
+                    }, LocalDateTime.now());
+
+            log.info("Group activity rehydrated: {} message counters, {} member sets, {} groups with sessions",
+                    messageCounters.size(), activeMembers.size(), upcomingSessions.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not rehydrate group activity; starting from empty counters", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.groups.activity.flush-interval-ms:30000}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        try {
+            flushMessages();
+            flushMembers();
+            refreshMessageTotals(today);
+        } catch (RuntimeException e) {
+            log.warn("Group activity flush failed; deltas are kept for the next run", e);
+            return;
+        }
+        evictExpired(today);
+    }
+
+    private void flushMessages() {
+        List<Object[]> rows = new ArrayList<>();
+        List<Runnable> commits = new ArrayList<>();
+        messageCounters.forEach((key, counter) -> {
+            long sum = counter.messages.sum();
+            long delta = sum - counter.flushed;
+            if (delta > 0) {
+                rows.add(new Object[] { key.groupId(), Date.valueOf(key.day()), delta, delta });
+                commits.add(() -> counter.flushed = sum);
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO group_activity_daily (group_id, day, messages) VALUES (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE messages = messages + ?", rows);
+        // Only now are the deltas durable; a failed batch is retried whole next time
+        commits.forEach(Runnable::run);
+    }
+
+    private void flushMembers() {
+        List<ActiveMember> batch = new ArrayList<>();
+        for (ActiveMember member; (member = pendingMembers.poll()) != null; ) {
+            batch.add(member);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (ActiveMember member : batch) {
+            rows.add(new Object[] { member.groupId(), Date.valueOf(member.day()), member.userId() });
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO group_activity_members (group_id, day, user_id) VALUES (?, ?, ?)", rows);
+        } catch (RuntimeException e) {
+            pendingMembers.addAll(batch);
+            throw e;
+        }
+    }
+
+    private void refreshMessageTotals(LocalDate day) {
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT group_id, messages FROM group_activity_daily WHERE day = ?",
+                rs -> {
+                    totals.put(rs.getLong(1), rs.getLong(2));
+                }, Date.valueOf(day));
+        totals.forEach((groupId, total) -> {
+            DayCounter counter = messageCounters.computeIfAbsent(new DayKey(groupId, day), k -> new DayCounter());
+            counter.base = total - counter.flushed;
+        });
+    }
+
+    private void evictExpired(LocalDate today) {
+        // Past days stay until their last delta is flushed
+        messageCounters.entrySet().removeIf(entry -> entry.getKey().day().isBefore(today)
+                && entry.getValue().messages.sum() == entry.getValue().flushed);
+        LocalDate windowStart = today.minusDays(ACTIVE_WINDOW_DAYS - 1);
+        activeMembers.keySet().removeIf(key -> key.day().isBefore(windowStart));
+
+        LocalDateTime now = LocalDateTime.now();
+        upcomingSessions.values().forEach(sessions -> {
+            synchronized (sessions) {
+                sessions.startsAt.values().removeIf(startsAt -> !startsAt.isAfter(now));
+            }
+        });
+
+        jdbcTemplate.update("DELETE FROM group_activity_daily WHERE day < ?",
+                Date.valueOf(today.minusDays(retentionDays)));
+        jdbcTemplate.update("DELETE FROM group_activity_members WHERE day < ?", Date.valueOf(windowStart));
+    }
+
+    private record DayKey(long groupId, LocalDate day) {
+    }
+
+    private record ActiveMember(long groupId, LocalDate day, long userId) {
+    }
+
+    /**
+     * Messages of one group on one day. {@code base} is the persisted total minus what this
+     * node flushed into it; both are written by the flush thread only.
+     */
+    private static final class DayCounter {
+        private final LongAdder messages = new LongAdder();
+        private volatile long flushed;
+        private volatile long base;
+
+        long total() {
+            return base + messages.sum();
+        }
+    }
+
+    private static final class UpcomingSessions {
+        private final Map<Long, LocalDateTime> startsAt = new HashMap<>();
+    }
+}
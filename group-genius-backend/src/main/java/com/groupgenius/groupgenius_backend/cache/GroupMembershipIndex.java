@@ -0,0 +1,231 @@
+package com.groupgenius.groupgenius_backend.cache;
+
+import com.groupgenius.groupgenius_backend.entity.GroupMember;
+import com.groupgenius.groupgenius_backend.repository.GroupMemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Answers "is user X a (pending / approved / admin) member of group Y" from memory
+ * instead of loading the User and Group and running {@code findByUserAndGroup}.
+ *
+ * <p>A group's member ids are read with one projection query on first use and kept in
+ * primitive {@link LongHashSet}s (about 15 MB per million memberships, against roughly
+ * 64 MB for boxed {@code HashSet<Long>}s of the same ids). {@link
+ * com.groupgenius.groupgenius_backend.service.GroupMemberService} writes changes through
+ * once its transaction commits. Entries are reloaded after
+ * {@code app.groups.membership.ttl-seconds} so changes made elsewhere (another node,
+ * cascading deletes) are picked up eventually.
+ */
+@Component
+public class GroupMembershipIndex {
+
+    private static final int STRIPES = 64;
+
+    private final GroupMemberRepository groupMemberRepository;
+    private final Map<Long, GroupMembers> groups = new ConcurrentHashMap<>();
+    // Bumped on every change to a group in the stripe; loads that raced a change are not kept
+    private final long[] changeStamps = new long[STRIPES];
+    private final Object installLock = new Object();
+
+    private final long ttlMillis;
+    private final int maxGroups;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public GroupMembershipIndex(GroupMemberRepository groupMemberRepository,
+            @Value("${app.groups.membership.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.groups.membership.max-groups:100000}") int maxGroups,
+            MeterRegistry meterRegistry) {
+        this.groupMemberRepository = groupMemberRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxGroups = maxGroups;
+        this.hitCounter = Counter.builder("groups.membership.index.hits").register(meterRegistry);
+        this.missCounter = Counter.builder("groups.membership.index.misses").register(meterRegistry);
+        Gauge.builder("groups.membership.index.bytes", this, GroupMembershipIndex::estimatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("groups.membership.index.groups", groups, Map::size).register(meterRegistry);
+    }
+
+    /** Member with any status (pending or approved). */
+    public boolean isMember(Long groupId, Long userId) {
+        if (groupId == null || userId == null) {
+            return false;
+        }
+        GroupMembers members = members(groupId);
+        synchronized (members) {
+            return members.approved.contains(userId) || members.pending.contains(userId);
+        }
+    }
+
+    public boolean isApprovedMember(Long groupId, Long userId) {
+        if (groupId == null || userId == null) {
+            return false;
+        }
+        GroupMembers members = members(groupId);
+        synchronized (members) {
+            return members.approved.contains(userId);
+        }
+    }
+
+    public boolean isAdmin(Long groupId, Long userId) {
+        if (groupId == null || userId == null) {
+            return false;
+        }
+        GroupMembers members = members(groupId);
+        synchronized (members) {
+            return members.admins.contains(userId);
+        }
+    }
+
+    /** Records an added or updated membership once the current transaction commits. */
+    public void onMemberSaved(Long groupId, Long userId, GroupMember.Role role, GroupMember.Status status) {
+        afterCommit(() -> apply(groupId, members -> {
+            members.remove(userId);
+            members.add(userId, role, status);
+        }));
+    }
+
+    /** Records a removed membership once the current transaction commits. */
+    public void onMemberRemoved(Long groupId, Long userId) {
+        afterCommit(() -> apply(groupId, members -> members.remove(userId)));
+    }
+
+    /** Drops the group (e.g. after it was deleted) once the current transaction commits. */
+    public void invalidate(Long groupId) {
+        afterCommit(() -> {
+            synchronized (installLock) {
+                changeStamps[stripe(groupId)]++;
+                groups.remove(groupId);
+            }
+        });
+    }
+
+    private GroupMembers members(Long groupId) {
+        GroupMembers members = groups.get(groupId);
+        if (members != null && System.currentTimeMillis() < members.expiresAt) {
+            hitCounter.increment();
+            return members;
+        }
+        missCounter.increment();
+        return load(groupId);
+    }
+
+    private GroupMembers load(Long groupId) {
+        long stamp;
+        synchronized (installLock) {
+            stamp = changeStamps[stripe(groupId)];
+        }
+
+        List<Object[]> rows = groupMemberRepository.findMembershipRowsByGroupId(groupId);
+        GroupMembers loaded = new GroupMembers(rows.size(), System.currentTimeMillis() + ttlMillis);
+        for (Object[] row : rows) {
+            loaded.add((Long) row[0], (GroupMember.Role) row[1], (GroupMember.Status) row[2]);
+        }
+
+        synchronized (installLock) {
+            // A change committed while we were reading; answer from the rows but do not keep them
+            if (changeStamps[stripe(groupId)] == stamp) {
+                groups.put(groupId, loaded);
+                evictOverLimit(groupId);
+            }
+        }
+        return loaded;
+    }
+
+    private void apply(Long groupId, Consumer<GroupMembers> change) {
+        synchronized (installLock) {
+            changeStamps[stripe(groupId)]++;
+            GroupMembers members = groups.get(groupId);
+            if (members != null) {
+                synchronized (members) {
+                    change.accept(members);
+                }
+            }
+        }
+    }
+
+    private void evictOverLimit(Long keep) {
+        // Arbitrary victims; the map is only a bound on memory, not an LRU
+        Iterator<Long> it = groups.keySet().iterator();
+        while (groups.size() > maxGroups && it.hasNext()) {
+            if (!it.next().equals(keep)) {
+                it.remove();
+            }
+        }
+    }
+
+    private long estimatedBytes() {
+        long bytes = 0;
+        for (GroupMembers members : groups.values()) {
+            synchronized (members) {
+                bytes += members.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static int stripe(Long groupId) {
+        return (int) (groupId & (STRIPES - 1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** User ids of one group by status and role; guarded by its own monitor once published. */
+    private static final class GroupMembers {
+        private final LongHashSet approved;
+        private final LongHashSet pending = new LongHashSet();
+        private final LongHashSet admins = new LongHashSet();
+        private final long expiresAt;
+
+        GroupMembers(int expectedSize, long expiresAt) {
+            this.approved = new LongHashSet(expectedSize);
+            this.expiresAt = expiresAt;
+        }
+
+        void add(Long userId, GroupMember.Role role, GroupMember.Status status) {
+            // Rows without a status count as members that are not approved
+            if (status == GroupMember.Status.APPROVED) {
+                approved.add(userId);
+            } else {
+                pending.add(userId);
+            }
+            if (role == GroupMember.Role.ADMIN) {
+                admins.add(userId);
+            }
+        }
+
+        void remove(Long userId) {
+            approved.remove(userId);
+            pending.remove(userId);
+            admins.remove(userId);
+        }
+
+        long memoryBytes() {
+            return 48 + approved.memoryBytes() + pending.memoryBytes() + admins.memoryBytes();
+        }
+    }
+}
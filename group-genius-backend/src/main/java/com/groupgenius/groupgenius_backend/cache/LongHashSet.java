@@ -0,0 +1,162 @@
+package com.groupgenius.groupgenius_backend.cache;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive {@code long} values in a single open-addressing table (linear
+ * probing), so each id costs one array slot instead of a boxed {@code Long} plus a
+ * hash map node. The table doubles once it is three quarters full; removals shift
+ * later entries back instead of leaving tombstones.
+ *
+ * <p>Not thread-safe; callers guard instances with their own lock.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    // 0 marks a free slot; the value 0 itself is tracked by a flag
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        table = new long[capacityFor(expectedSize)];
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+            long current = table[i];
+            if (current == value) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+
+    /** @return true if the value was not present before */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int i = slot(value, mask);
+        while (table[i] != 0) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        size++;
+        if (size * 4L > table.length * 3L) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    /** @return true if the value was present */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int mask = table.length - 1;
+        int i = slot(value, mask);
+        while (table[i] != value) {
+            if (table[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Backward-shift deletion: move later entries of the probe run into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = slot(table[j], mask);
+            // Entry j may fill the gap only if its home slot is not in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+        }
+        table[gap] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (long value : table) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    /** Approximate retained size of this set: the table plus object headers. */
+    public long memoryBytes() {
+        return 16L + table.length * 8L + 32L;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = table;
+        table = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int i = slot(value, mask);
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / 0.75) + 1);
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        return capacity < needed ? capacity << 1 : capacity;
+    }
+
+    private static int slot(long value, int mask) {
+        // Fibonacci hashing spreads sequential ids across the table
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
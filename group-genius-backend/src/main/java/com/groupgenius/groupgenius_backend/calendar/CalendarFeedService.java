@@ -0,0 +1,256 @@
+package com.groupgenius.groupgenius_backend.calendar;
+
+import com.groupgenius.groupgenius_backend.entity.SessionSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user iCalendar feed (sessions the user participates in plus the series of their
+ * groups) for calendar apps that poll every few minutes.
+ *
+ * <p>The strong ETag is a SHA-256 of the feed bytes, and the bytes depend only on the data
+ * and the day (DTSTAMP is the start of the day), so a feed regenerated on another node or
+ * after its entry expired still matches the ETag the client already has. A feed is kept in
+ * memory until something that feeds it changes: the services call {@link #invalidateUser} /
+ * {@link #invalidateSession} / {@link #invalidateGroup} and the entry is dropped after
+ * commit. A poll whose {@code If-None-Match} matches the cached ETag is answered with 304
+ * without touching the database. On a miss the feed is generated into memory and kept if
+ * nothing changed meanwhile (same stamp scheme as
+ * {@link com.groupgenius.groupgenius_backend.cache.GroupMembershipIndex}). Entries also
+ * expire after {@code app.calendar.feed.ttl-seconds}, which bounds staleness from writes
+ * on other nodes.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final int STRIPES = 256;
+
+    // Both queries have a total order so that the same data always gives the same bytes
+    private static final String SESSIONS_SQL = "SELECT s.id, s.title, s.description, s.meeting_link,"
+            + " s.starts_at, s.ends_at, g.group_name"
+            + " FROM session_participants sp"
+            + " JOIN sessions s ON s.id = sp.session_id"
+            + " JOIN `groups` g ON g.id = s.group_id"
+            + " WHERE sp.user_id = ? AND g.deleted_at IS NULL AND s.ends_at >= ?"
+            + " ORDER BY s.starts_at, s.id";
+
+    // Series are group-wide, so every approved member of the group gets them
+    private static final String SERIES_SQL = "SELECT ss.id, ss.title, ss.description, ss.meeting_link,"
+            + " ss.start_time, ss.end_time, ss.frequency, ss.days_mask, ss.start_date, ss.end_date, g.group_name"
+            + " FROM group_members gm"
+            + " JOIN session_series ss ON ss.group_id = gm.group_id"
+            + " JOIN `groups` g ON g.id = ss.group_id"
+            + " WHERE gm.user_id = ? AND gm.status = 'APPROVED' AND ss.archived = false"
+            + " AND g.deleted_at IS NULL AND ss.end_date >= ?"
+            + " ORDER BY ss.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, CachedFeed> feeds = new ConcurrentHashMap<>();
+    private final long[] changeStamps = new long[STRIPES];
+    private final Object installLock = new Object();
+
+    private final long ttlMillis;
+    private final int maxFeeds;
+    private final int historyDays;
+    private final Counter notModifiedCounter;
+    private final Counter generatedCounter;
+
+    public CalendarFeedService(JdbcTemplate jdbcTemplate,
+            @Value("${app.calendar.feed.ttl-seconds:900}") long ttlSeconds,
+            @Value("${app.calendar.feed.max-users:20000}") int maxFeeds,
+            @Value("${app.calendar.feed.history-days:90}") int historyDays,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxFeeds = maxFeeds;
+        this.historyDays = historyDays;
+        this.notModifiedCounter = Counter.builder("calendar.feed.not.modified").register(meterRegistry);
+        this.generatedCounter = Counter.builder("calendar.feed.generated").register(meterRegistry);
+        Gauge.builder("calendar.feed.cached", feeds, Map::size).register(meterRegistry);
+    }
+
+    /** The cached feed of the user, if there is a fresh one. */
+    public Optional<CachedFeed> cached(Long userId) {
+        CachedFeed feed = feeds.get(userId);
+        if (feed == null || System.currentTimeMillis() >= feed.expiresAt()) {
+            return Optional.empty();
+        }
+        return Optional.of(feed);
+    }
+
+    public void recordNotModified() {
+        notModifiedCounter.increment();
+    }
+
+    /**
+     * Generates the user's feed and its content ETag, and caches both unless the user's
+     * feed was invalidated in the meantime.
+     */
+    public CachedFeed generate(Long userId) {
+        long stamp;
+        synchronized (installLock) {
+            stamp = changeStamps[stripe(userId)];
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try {
+            writeFeed(userId, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] body = out.toByteArray();
+        CachedFeed feed = new CachedFeed(etag(body), body, System.currentTimeMillis() + ttlMillis);
+        generatedCounter.increment();
+
+        synchronized (installLock) {
+            if (changeStamps[stripe(userId)] == stamp) {
+                feeds.put(userId, feed);
+                evictOverLimit(userId);
+            }
+        }
+        return feed;
+    }
+
+    /** The user's participation or group memberships changed. */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> drop(userId));
+        }
+    }
+
+    /** The session changed (rescheduled, renamed, deleted); every participant's feed is stale. */
+    public void invalidateSession(Long sessionId) {
+        // Read now: by commit time a deleted session has no participants left
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM session_participants WHERE session_id = ?", Long.class, sessionId);
+        afterCommit(() -> userIds.forEach(this::drop));
+    }
+
+    /** A series of the group changed, or the group is gone; every member's feed is stale. */
+    public void invalidateGroup(Long groupId) {
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM group_members WHERE group_id = ?", Long.class, groupId);
+        afterCommit(() -> userIds.forEach(this::drop));
+    }
+
+    private void writeFeed(Long userId, OutputStream out) throws IOException {
+        LocalDate today = LocalDate.now();
+        // A fixed DTSTAMP for the day keeps identical data byte-identical (and so the ETag)
+        IcsWriter ics = new IcsWriter(out, today.atStartOfDay());
+        ics.begin("GroupGenius sessions");
+        LocalDate since = today.minusDays(historyDays);
+
+        jdbcTemplate.query(SESSIONS_SQL, rs -> {
+            LocalDateTime startsAt = rs.getObject(5, LocalDateTime.class);
+            LocalDateTime endsAt = rs.getObject(6, LocalDateTime.class);
+            if (startsAt == null || endsAt == null) {
+                return;
+            }
+            try {
+                ics.event("session-" + rs.getLong(1) + "@groupgenius", rs.getString(2),
+                        describe(rs.getString(7), rs.getString(3)), rs.getString(4), startsAt, endsAt);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId, since.atStartOfDay());
+
+        jdbcTemplate.query(SERIES_SQL, rs -> {
+            SessionSeries.Frequency frequency = SessionSeries.Frequency.valueOf(rs.getString(7));
+            int daysMask = rs.getInt(8);
+            LocalDate startDate = rs.getDate(9).toLocalDate();
+            LocalDate endDate = rs.getDate(10).toLocalDate();
+            // DTSTART must be an actual occurrence; RRULE expands the rest on the client
+            LocalDate first = SessionSeries.nthOccurrence(startDate, daysMask, frequency, 1, endDate);
+            if (first == null) {
+                return;
+            }
+            LocalTime startTime = rs.getObject(5, LocalTime.class);
+            LocalTime endTime = rs.getObject(6, LocalTime.class);
+            try {
+                ics.recurringEvent("series-" + rs.getLong(1) + "@groupgenius", rs.getString(2),
+                        describe(rs.getString(11), rs.getString(3)), rs.getString(4),
+                        LocalDateTime.of(first, startTime), LocalDateTime.of(first, endTime),
+                        frequency.getIntervalWeeks(), SessionSeries.daysOf(daysMask), endDate);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId, Date.valueOf(since));
+
+        ics.end();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String describe(String groupName, String description) {
+        if (description == null || description.isBlank()) {
+            return groupName;
+        }
+        return groupName + "\n\n" + description;
+    }
+
+    private void drop(Long userId) {
+        synchronized (installLock) {
+            changeStamps[stripe(userId)]++;
+            feeds.remove(userId);
+        }
+    }
+
+    private void evictOverLimit(Long keep) {
+        Iterator<Long> it = feeds.keySet().iterator();
+        while (feeds.size() > maxFeeds && it.hasNext()) {
+            if (!it.next().equals(keep)) {
+                it.remove();
+            }
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record CachedFeed(String etag, byte[] body, long expiresAt) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.groupgenius.groupgenius_backend.calendar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Writes an iCalendar (RFC 5545) document event by event straight to the output, with
+ * text escaping and 75-octet line folding. Times are floating local times, matching how
+ * sessions are stored.
+ */
+class IcsWriter {
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final byte[] CRLF = { '\r', '\n' };
+    private static final byte[] FOLD = { '\r', '\n', ' ' };
+
+    private final OutputStream out;
+    private final String stamp;
+
+    IcsWriter(OutputStream out, LocalDateTime generatedAt) {
+        this.out = out;
+        this.stamp = generatedAt.atOffset(ZoneOffset.UTC).format(UTC);
+    }
+
+    void begin(String name) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//GroupGenius//Study Sessions//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    void event(String uid, String summary, String description, String location, LocalDateTime start,
+            LocalDateTime end) throws IOException {
+        beginEvent(uid, summary, description, location, start, end);
+        line("END:VEVENT");
+    }
+
+    /** Weekly recurring event; {@code intervalWeeks} is 1 for weekly, 2 for every other week. */
+    void recurringEvent(String uid, String summary, String description, String location, LocalDateTime firstStart,
+            LocalDateTime firstEnd, int intervalWeeks, Set<DayOfWeek> days, LocalDate until) throws IOException {
+        beginEvent(uid, summary, description, location, firstStart, firstEnd);
+        StringJoiner byDay = new StringJoiner(",");
+        for (DayOfWeek day : days) {
+            byDay.add(day.name().substring(0, 2));
+        }
+        line("RRULE:FREQ=WEEKLY;INTERVAL=" + intervalWeeks + ";BYDAY=" + byDay
+                + ";UNTIL=" + until.atTime(23, 59, 59).format(LOCAL));
+        line("END:VEVENT");
+    }
+
+    void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private void beginEvent(String uid, String summary, String description, String location, LocalDateTime start,
+            LocalDateTime end) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + start.format(LOCAL));
+        line("DTEND:" + end.format(LOCAL));
+        line("SUMMARY:" + escape(summary));
+        if (description != null && !description.isBlank()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        if (location != null && !location.isBlank()) {
+            line("LOCATION:" + escape(location));
+        }
+    }
+
+    private void line(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        int from = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - from > limit) {
+            int to = from + limit;
+            // Never split a multi-byte UTF-8 sequence
+            while ((bytes[to] & 0xC0) == 0x80) {
+                to--;
+            }
+            out.write(bytes, from, to - from);
+            out.write(FOLD);
+            from = to;
+            // Continuation lines start with a space, which counts towards their length
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, from, bytes.length - from);
+        out.write(CRLF);
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
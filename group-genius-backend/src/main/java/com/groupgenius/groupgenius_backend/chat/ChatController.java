@@ -1,9 +1,12 @@
 package com.groupgenius.groupgenius_backend.chat;
 
+import com.groupgenius.groupgenius_backend.exception.ChatSendPendingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 import java.util.Map;
@@ -20,6 +23,19 @@ public class ChatController {
         chatService.processMessage(message);
     }
 
+    /**
+     * A retry whose first attempt is still in flight: tell the sending session (subscribed to
+     * /user/queue/chat/errors) so it can retry instead of waiting for an echo.
+     */
+    @MessageExceptionHandler(ChatSendPendingException.class)
+    @SendToUser(destinations = "/queue/chat/errors", broadcast = false)
+    public Map<String, Object> sendPending(ChatSendPendingException ex) {
+        return Map.of(
+                "type", "SEND_PENDING",
+                "clientMessageId", ex.getClientMessageId(),
+                "message", ex.getMessage());
+    }
+
     @MessageMapping("/chat/{groupId}/edit")
     public void editMessage(@DestinationVariable Long groupId, @Payload Map<String, Object> payload) {
         Long messageId = ((Number) payload.get("messageId")).longValue();
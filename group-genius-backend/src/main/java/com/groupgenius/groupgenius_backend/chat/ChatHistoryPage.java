@@ -0,0 +1,23 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a group's chat history, newest message first.
+ * Pass {@code nextCursor} back as {@code before} to load the next (older) page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatHistoryPage {
+    private Long groupId;
+    private List<ChatMessage> messages;
+    private Long nextCursor;
+    private boolean hasMore;
+}
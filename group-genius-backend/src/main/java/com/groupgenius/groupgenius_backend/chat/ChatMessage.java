@@ -11,7 +11,15 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        // Keyset pagination of a group's history walks (group_id, id) backwards
+        @Index(name = "idx_chat_group_id", columnList = "group_id, id"),
+        // Delta sync looks up edits/deletes of a group since a point in time
+        @Index(name = "idx_chat_group_updated", columnList = "group_id, updated_at"),
+        // Gap backfill reads a group's messages by sequence range; unique so a numbering bug
+        // fails the insert instead of silently giving two messages the same position
+        @Index(name = "uk_chat_group_seq", columnList = "group_id, group_seq", unique = true)
+})
 public class ChatMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +28,10 @@ public class ChatMessage {
     @Column(name = "group_id", nullable = false)
     private Long groupId;
 
+    // Per-group, server-assigned order (see ChatSequenceAllocator); lets clients detect gaps
+    @Column(name = "group_seq")
+    private Long groupSeq;
+
     @Column(name = "sender_id", nullable = false)
     private Long senderId;
 
@@ -47,6 +59,14 @@ public class ChatMessage {
     @Column(name = "attachment_size")
     private Long attachmentSize;
 
+    // Soft-delete tombstone, kept so reconnecting clients learn about deletions
+    @Column(name = "deleted", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean deleted = false;
+
+    // Last insert/edit/delete of this row; drives delta sync
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     // Not persisted; used for UI echoing (client may send sender display name)
     @Transient
     private String sender;
@@ -61,4 +81,10 @@ public class ChatMessage {
 
     @Transient
     private String senderProfileImageUrl;
+
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = Instant.now();
+    }
 }
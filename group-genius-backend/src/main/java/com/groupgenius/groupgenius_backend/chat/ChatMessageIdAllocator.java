@@ -0,0 +1,83 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Hands out chat message ids from blocks reserved in the {@code chat_id_sequence}
+ * table, so write-behind messages get their id before they are inserted.
+ * A block reservation starts above the current MAX(id) of chat_messages, which keeps it
+ * clear of IDENTITY rows inserted <em>before</em> it. An IDENTITY insert made later takes
+ * MAX(id) + 1 and can land inside another node's unused block, so while write-behind is
+ * enabled every chat insert takes its id from here (see ChatService#persistNew), and
+ * {@code app.chat.write-behind.enabled} must be the same on all nodes.
+ */
+@Slf4j
+@Component
+public class ChatMessageIdAllocator {
+
+    private static final String SEQUENCE_NAME = "chat_messages";
+
+    private static final String ENSURE_ROW_SQL =
+            "INSERT IGNORE INTO chat_id_sequence (name, next_val) VALUES (?, 1)";
+
+    // LAST_INSERT_ID(expr) makes the new value readable on the same connection without a lock read
+    private static final String RESERVE_SQL =
+            "UPDATE chat_id_sequence SET next_val = LAST_INSERT_ID("
+                    + "GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM chat_messages)) + ?) "
+                    + "WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    private long nextId;
+    private long blockEnd;
+    private boolean initialized;
+
+    public ChatMessageIdAllocator(JdbcTemplate jdbcTemplate,
+            @Value("${app.chat.write-behind.id-block-size:100}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public synchronized long nextId() {
+        if (nextId >= blockEnd) {
+            reserveBlock();
+        }
+        return nextId++;
+    }
+
+    private void reserveBlock() {
+        if (!initialized) {
+            jdbcTemplate.update(ENSURE_ROW_SQL, SEQUENCE_NAME);
+            initialized = true;
+        }
+
+        Long end = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+                update.setInt(1, blockSize);
+                update.setString(2, SEQUENCE_NAME);
+                update.executeUpdate();
+            }
+            try (Statement select = connection.createStatement();
+                    ResultSet rs = select.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+
+        if (end == null || end <= 0) {
+            throw new IllegalStateException("Unable to reserve chat message ids");
+        }
+        blockEnd = end;
+        nextId = end - blockSize;
+        log.debug("Reserved chat message ids [{}, {})", nextId, blockEnd);
+    }
+}
@@ -1,11 +1,29 @@
 package com.groupgenius.groupgenius_backend.chat;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    List<ChatMessage> findByGroupIdOrderByTimestampAsc(Long groupId);
+    // Newest messages of a group; the pageable only bounds the row count (no COUNT query)
+    List<ChatMessage> findByGroupIdAndDeletedFalseOrderByIdDesc(Long groupId, Pageable pageable);
+
+    // Keyset page: messages strictly older than the cursor id, newest first
+    List<ChatMessage> findByGroupIdAndDeletedFalseAndIdLessThanOrderByIdDesc(Long groupId, Long beforeId,
+            Pageable pageable);
+
+    // Gap backfill: a precise sequence range, tombstones included so the client can close the gap
+    List<ChatMessage> findByGroupIdAndGroupSeqBetweenOrderByGroupSeqAsc(Long groupId, Long fromSeq, Long toSeq);
+
+    // Delta sync: messages the client has not seen yet, oldest first
+    List<ChatMessage> findByGroupIdAndDeletedFalseAndIdGreaterThanOrderByIdAsc(Long groupId, Long afterId,
+            Pageable pageable);
+
+    // Delta sync: edits and delete tombstones of messages the client already has
+    List<ChatMessage> findByGroupIdAndIdLessThanEqualAndUpdatedAtAfterOrderByUpdatedAtAsc(Long groupId, Long afterId,
+            Instant since, Pageable pageable);
 }
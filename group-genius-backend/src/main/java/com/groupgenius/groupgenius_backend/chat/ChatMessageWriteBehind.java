@@ -0,0 +1,335 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind persistence for live chat messages
+ * ({@code app.chat.write-behind.enabled=true}).
+ *
+ * <p>Messages get their id from {@link ChatMessageIdAllocator} and are handed back
+ * immediately so they can be broadcast; a single worker thread inserts them in JDBC
+ * batches. Durability contract: a message is acknowledged before it is committed, so
+ * a hard crash can lose at most what is still queued (bounded by the queue capacity
+ * and flush interval). When the queue is full the caller writes synchronously instead
+ * of dropping, transient write failures are retried, and the queue is drained on
+ * shutdown. Readers call {@link #flush()} first so they always see queued messages.
+ *
+ * <p>Messages that cannot be inserted (see {@link #accepts}) are never queued; the caller
+ * inserts them synchronously with {@link #insertNow} and gets the error. A queued row that still fails on its own
+ * is re-queued a few times and then moved to {@code chat_message_dead_letters} rather
+ * than dropped, since it has already been broadcast.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriteBehind {
+
+    private static final String INSERT_SQL = "INSERT INTO chat_messages "
+            + "(id, group_id, sender_id, content, `timestamp`, message_type, edited, "
+            + "file_url, attachment_type, attachment_name, attachment_size, deleted, updated_at, group_seq) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long MAX_BACKOFF_MS = 5_000;
+    private static final int MAX_REQUEUES = 3;
+
+    private static final String DEAD_LETTER_SQL = "INSERT INTO chat_message_dead_letters "
+            + "(message_id, group_id, sender_id, group_seq, content, sent_at, message_type, "
+            + "file_url, attachment_type, attachment_name, attachment_size, error, failed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMessageIdAllocator idAllocator;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Times a message that failed on its own has been put back on the queue, by message id
+    private final Map<Long, Integer> requeues = new ConcurrentHashMap<>();
+
+    @Value("${app.chat.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.chat.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.chat.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.chat.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${app.chat.write-behind.max-retries:5}")
+    private int maxRetries;
+
+    private BlockingQueue<ChatMessage> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private Counter writtenCounter;
+    private Counter callerWriteCounter;
+    private Counter failedCounter;
+    private Counter requeuedCounter;
+    private Timer batchTimer;
+
+    public ChatMessageWriteBehind(JdbcTemplate jdbcTemplate, ChatMessageIdAllocator idAllocator,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        writtenCounter = meterRegistry.counter("chat.writebehind.written");
+        callerWriteCounter = meterRegistry.counter("chat.writebehind.caller.writes");
+        failedCounter = meterRegistry.counter("chat.writebehind.failed");
+        requeuedCounter = meterRegistry.counter("chat.writebehind.requeued");
+        batchTimer = Timer.builder("chat.writebehind.batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("chat.writebehind.queue.size", queue, BlockingQueue::size);
+
+        running = true;
+        worker = new Thread(this::runWorker, "chat-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Chat write-behind enabled (capacity={}, batchSize={}, flushInterval={}ms)",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the message can go through the queue. Rows missing a NOT NULL column would
+     * only fail later on the worker, after the sender was told they were sent.
+     */
+    public boolean accepts(ChatMessage message) {
+        return enabled && message.getGroupId() != null && message.getSenderId() != null
+                && message.getContent() != null;
+    }
+
+    /**
+     * Assigns an id and queues the message for insertion. The returned message can be
+     * broadcast right away. Callers check {@link #accepts} first.
+     */
+    public ChatMessage enqueue(ChatMessage message) {
+        message.setId(idAllocator.nextId());
+        // The JDBC insert bypasses the entity's @PrePersist callback
+        message.touchUpdatedAt();
+        if (!queue.offer(message)) {
+            // Back-pressure: the caller pays the write instead of the message being dropped
+            callerWriteCounter.increment();
+            writeLock.lock();
+            try {
+                writeWithRetry(List.of(message));
+            } finally {
+                writeLock.unlock();
+            }
+            return message;
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+        return message;
+    }
+
+    /**
+     * Inserts a message the queue does not accept, synchronously but still with an
+     * allocated id: an IDENTITY insert could take an id inside another node's reserved
+     * block. Errors go to the caller.
+     */
+    public ChatMessage insertNow(ChatMessage message) {
+        message.setId(idAllocator.nextId());
+        message.touchUpdatedAt();
+        insert(List.of(message));
+        return message;
+    }
+
+    /**
+     * Blocks until every message queued so far has been written.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            drainAndWrite();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Chat write-behind stopped; queue drained");
+    }
+
+    private void runWorker() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        while (running) {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                log.error("Chat write-behind flush failed", ex);
+            }
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(intervalNanos);
+            }
+        }
+    }
+
+    private void drainAndWrite() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeWithRetry(List<ChatMessage> batch) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                batchTimer.record(() -> insert(batch));
+                writtenCounter.increment(batch.size());
+                if (!requeues.isEmpty()) {
+                    // Re-queued rows that made it in with a normal batch
+                    batch.forEach(message -> requeues.remove(message.getId()));
+                }
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                // A bad row poisons the whole batch; isolate it
+                writeIndividually(batch);
+                return;
+            } catch (DataAccessException ex) {
+                if (attempt >= maxRetries) {
+                    writeIndividually(batch);
+                    return;
+                }
+                long backoff = Math.min(MAX_BACKOFF_MS, 100L << attempt);
+                log.warn("Chat write-behind batch of {} failed (attempt {}), retrying in {}ms: {}",
+                        batch.size(), attempt + 1, backoff, ex.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoff));
+            } catch (RuntimeException ex) {
+                // Not a database error (e.g. a row that cannot be bound); retrying the batch won't help
+                writeIndividually(batch);
+                return;
+            }
+        }
+    }
+
+    private void writeIndividually(List<ChatMessage> batch) {
+        for (ChatMessage message : batch) {
+            try {
+                insert(List.of(message));
+                writtenCounter.increment();
+                requeues.remove(message.getId());
+            } catch (RuntimeException ex) {
+                failedCounter.increment();
+                onRowFailed(message, ex);
+            }
+        }
+    }
+
+    // Transient failures go back on the queue a few times; everything else is dead-lettered
+    private void onRowFailed(ChatMessage message, RuntimeException ex) {
+        boolean permanent = ex instanceof NonTransientDataAccessException || !(ex instanceof DataAccessException);
+        int attempts = requeues.getOrDefault(message.getId(), 0);
+        if (!permanent && attempts < MAX_REQUEUES && running && queue.offer(message)) {
+            requeues.put(message.getId(), attempts + 1);
+            requeuedCounter.increment();
+            log.warn("Re-queued chat message {} for group {} after failed write: {}",
+                    message.getId(), message.getGroupId(), ex.getMessage());
+            return;
+        }
+        requeues.remove(message.getId());
+        deadLetter(message, ex);
+    }
+
+    private void deadLetter(ChatMessage message, RuntimeException cause) {
+        String error = String.valueOf(cause.getMessage());
+        try {
+            jdbcTemplate.update(DEAD_LETTER_SQL, message.getId(), message.getGroupId(), message.getSenderId(),
+                    message.getGroupSeq(), message.getContent(),
+                    message.getTimestamp() != null ? Timestamp.from(message.getTimestamp()) : null,
+                    message.getMessageType(), message.getAttachmentUrl(), message.getAttachmentType(),
+                    message.getAttachmentName(), message.getAttachmentSize(),
+                    error.length() > 1000 ? error.substring(0, 1000) : error,
+                    Timestamp.from(Instant.now()));
+            log.error("Chat message {} for group {} from sender {} moved to chat_message_dead_letters: {}",
+                    message.getId(), message.getGroupId(), message.getSenderId(), error);
+        } catch (RuntimeException ex) {
+            log.error("Lost chat message {} for group {} from sender {}; write failed ({}) and so did the dead letter",
+                    message.getId(), message.getGroupId(), message.getSenderId(), error, ex);
+        }
+    }
+
+    private void insert(List<ChatMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, ChatMessage message) throws SQLException {
+        ps.setLong(1, message.getId());
+        setLongOrNull(ps, 2, message.getGroupId());
+        setLongOrNull(ps, 3, message.getSenderId());
+        ps.setString(4, message.getContent());
+        ps.setTimestamp(5, message.getTimestamp() != null ? Timestamp.from(message.getTimestamp()) : null);
+        ps.setString(6, message.getMessageType());
+        ps.setBoolean(7, Boolean.TRUE.equals(message.getEdited()));
+        ps.setString(8, message.getAttachmentUrl());
+        ps.setString(9, message.getAttachmentType());
+        ps.setString(10, message.getAttachmentName());
+        setLongOrNull(ps, 11, message.getAttachmentSize());
+        ps.setBoolean(12, Boolean.TRUE.equals(message.getDeleted()));
+        ps.setTimestamp(13, message.getUpdatedAt() != null ? Timestamp.from(message.getUpdatedAt()) : null);
+        setLongOrNull(ps, 14, message.getGroupSeq());
+    }
+
+    private static void setLongOrNull(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.groupgenius.groupgenius_backend.chat;
 
+import com.groupgenius.groupgenius_backend.exception.ChatSendPendingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -28,6 +31,36 @@ public class ChatRestController {
         return chatService.getHistory(groupId);
     }
 
+    @GetMapping("/{groupId}/messages")
+    public ChatHistoryPage getMessages(@PathVariable Long groupId,
+                                       @RequestParam(value = "before", required = false) Long before,
+                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        return chatService.getHistoryPage(groupId, before, limit);
+    }
+
+    @GetMapping("/{groupId}/messages/range")
+    public List<ChatMessage> getMessageRange(@PathVariable Long groupId,
+                                             @RequestParam("fromSeq") Long fromSeq,
+                                             @RequestParam("toSeq") Long toSeq) {
+        return chatService.getRange(groupId, fromSeq, toSeq);
+    }
+
+    @GetMapping("/{groupId}/sync")
+    public ChatSyncResponse sync(@PathVariable Long groupId,
+                                 @RequestParam("afterId") Long afterId,
+                                 @RequestParam(value = "since", required = false) Instant since,
+                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return chatService.sync(groupId, afterId, since, limit);
+    }
+
+    @GetMapping("/{groupId}/search")
+    public ChatSearchResponse search(@PathVariable Long groupId,
+                                     @RequestParam("q") String query,
+                                     @RequestParam(value = "page", required = false) Integer page,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        return chatService.search(groupId, query, page, size);
+    }
+
     @PostMapping(value = "/{groupId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadAttachment(@PathVariable Long groupId,
                                               @RequestParam("file") MultipartFile file,
@@ -39,6 +72,8 @@ public class ChatRestController {
             return ResponseEntity.ok(saved);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (ChatSendPendingException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
         } catch (IOException ex) {
             log.error("Failed to store attachment for group {}", groupId, ex);
             return ResponseEntity.internalServerError().body("Unable to store attachment: " + ex.getMessage());
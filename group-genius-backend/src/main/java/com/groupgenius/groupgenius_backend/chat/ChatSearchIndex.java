@@ -0,0 +1,428 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over chat message text ({@code content} and
+ * {@code attachmentName}), one index per group.
+ *
+ * <p>A group's index is built from {@code chat_messages} on its first search and then
+ * kept current by {@link ChatService} on send, edit and delete. Only the most recently
+ * searched groups stay in memory ({@code app.chat.search.max-groups}); an evicted group
+ * is simply rebuilt from the table next time. Hits are ranked with BM25; all query terms
+ * must match, and the last one also matches as a prefix (search-as-you-type).
+ *
+ * <p>Only this node's sends, edits and deletes reach the index, so a built index is
+ * rebuilt after {@code app.chat.search.ttl-seconds}, and much sooner
+ * ({@code app.chat.search.relay-ttl-seconds}) when {@code app.chat.broker.mode=relay}
+ * (several nodes share the chat). Callers register the group with {@link #prepare}
+ * before flushing write-behind, so a message queued in between reaches either the
+ * index or the table the build reads.
+ */
+@Slf4j
+@Component
+public class ChatSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final LinkedHashMap<Long, GroupIndex> groups;
+    private final long ttlNanos;
+
+    @Value("${app.chat.search.build-batch-size:5000}")
+    private int buildBatchSize;
+
+    // Upper bound on terms a trailing prefix may expand to
+    @Value("${app.chat.search.max-prefix-expansions:64}")
+    private int maxPrefixExpansions;
+
+    public ChatSearchIndex(ChatMessageRepository chatMessageRepository,
+            @Value("${app.chat.search.max-groups:200}") int maxGroups,
+            @Value("${app.chat.search.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.chat.search.relay-ttl-seconds:30}") long relayTtlSeconds,
+            @Value("${app.chat.broker.mode:simple}") String brokerMode) {
+        this.chatMessageRepository = chatMessageRepository;
+        long seconds = "relay".equalsIgnoreCase(brokerMode) ? relayTtlSeconds : ttlSeconds;
+        this.ttlNanos = seconds * 1_000_000_000L;
+        // access-order so the least recently searched group is evicted first
+        this.groups = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, GroupIndex> eldest) {
+                return size() > maxGroups;
+            }
+        };
+    }
+
+    /** Adds or replaces a message (send and edit). */
+    public void onMessageSaved(ChatMessage message) {
+        if (message == null || message.getId() == null || message.getGroupId() == null) {
+            return;
+        }
+        GroupIndex index = loadedIndex(message.getGroupId());
+        if (index == null) {
+            // Not built yet; the lazy build reads it from the table
+            return;
+        }
+        synchronized (index) {
+            index.remove(message.getId());
+            if (!Boolean.TRUE.equals(message.getDeleted())) {
+                index.add(message.getId(), textOf(message));
+            }
+        }
+    }
+
+    public void onMessageDeleted(Long groupId, Long messageId) {
+        GroupIndex index = loadedIndex(groupId);
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            index.remove(messageId);
+            if (!index.ready) {
+                // Keep an in-flight build from re-adding a row it read before the delete
+                index.suppressed.add(messageId);
+            }
+        }
+    }
+
+    /**
+     * Registers the group's index (replacing an expired one) without building it, so that
+     * saves from now on land in it; the build itself runs on {@link #search}.
+     */
+    public void prepare(Long groupId) {
+        synchronized (groups) {
+            GroupIndex index = groups.get(groupId);
+            if (index == null || (index.ready && System.nanoTime() - index.expiresAtNanos >= 0)) {
+                groups.put(groupId, new GroupIndex());
+            }
+        }
+    }
+
+    /** Drops a group's index; it is rebuilt from the table on the next search. */
+    public void invalidate(Long groupId) {
+        synchronized (groups) {
+            groups.remove(groupId);
+        }
+    }
+
+    /**
+     * Ranks the group's messages against {@code query} and returns the hits for
+     * positions {@code [offset, offset + limit)}, best first, plus the total match count.
+     */
+    public SearchResult search(Long groupId, String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        GroupIndex index = indexFor(groupId);
+
+        synchronized (index) {
+            int docCount = index.docs.size();
+            if (docCount == 0) {
+                return new SearchResult(0, List.of());
+            }
+
+            // Each query term resolves to one or more posting lists (prefix expansion for the last)
+            List<List<Postings>> resolved = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                List<Postings> lists = i == terms.size() - 1
+                        ? index.prefixPostings(terms.get(i), maxPrefixExpansions)
+                        : index.exactPostings(terms.get(i));
+                if (lists.isEmpty()) {
+                    return new SearchResult(0, List.of());
+                }
+                resolved.add(lists);
+            }
+
+            // Drive the intersection from the rarest term
+            resolved.sort(Comparator.comparingInt(ChatSearchIndex::totalSize));
+            List<Postings> driver = resolved.get(0);
+            Set<Long> visited = driver.size() > 1 ? new HashSet<>() : null;
+
+            double avgLength = (double) index.totalLength / docCount;
+            int keep = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                    .thenComparingLong(Hit::messageId));
+            int total = 0;
+
+            for (Postings postings : driver) {
+                for (int p = 0; p < postings.size; p++) {
+                    long id = postings.ids[p];
+                    if (visited != null && !visited.add(id)) {
+                        continue;
+                    }
+                    Doc doc = index.docs.get(id);
+                    double score = 0;
+                    boolean matches = true;
+                    for (List<Postings> termLists : resolved) {
+                        double termScore = score(termLists, id, doc.length(), avgLength, docCount);
+                        if (termScore == 0) {
+                            matches = false;
+                            break;
+                        }
+                        score += termScore;
+                    }
+                    if (!matches) {
+                        continue;
+                    }
+                    total++;
+                    if (keep > 0) {
+                        top.offer(new Hit(id, score));
+                        if (top.size() > keep) {
+                            top.poll();
+                        }
+                    }
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            // Best first; newer messages win ties
+            ranked.sort(Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::messageId).reversed());
+            List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new SearchResult(total, new ArrayList<>(page));
+        }
+    }
+
+    private static double score(List<Postings> termLists, long id, int docLength, double avgLength, int docCount) {
+        double score = 0;
+        for (Postings postings : termLists) {
+            int tf = postings.tf(id);
+            if (tf == 0) {
+                continue;
+            }
+            double idf = Math.log(1 + (docCount - postings.size + 0.5) / (postings.size + 0.5));
+            double norm = tf + K1 * (1 - B + B * docLength / avgLength);
+            score += idf * tf * (K1 + 1) / norm;
+        }
+        return score;
+    }
+
+    private static int totalSize(List<Postings> lists) {
+        int size = 0;
+        for (Postings postings : lists) {
+            size += postings.size;
+        }
+        return size;
+    }
+
+    private GroupIndex loadedIndex(Long groupId) {
+        synchronized (groups) {
+            return groups.get(groupId);
+        }
+    }
+
+    private GroupIndex indexFor(Long groupId) {
+        GroupIndex index;
+        synchronized (groups) {
+            index = groups.computeIfAbsent(groupId, id -> new GroupIndex());
+        }
+        if (!index.ready) {
+            synchronized (index.buildLock) {
+                if (!index.ready) {
+                    build(groupId, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void build(Long groupId, GroupIndex index) {
+        long started = System.nanoTime();
+        long lastId = 0;
+        int loaded = 0;
+        while (true) {
+            List<ChatMessage> batch = chatMessageRepository.findByGroupIdAndDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                    groupId, lastId, PageRequest.of(0, buildBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            synchronized (index) {
+                for (ChatMessage message : batch) {
+                    // Live updates that arrived during the build are newer than what we read
+                    if (!index.docs.containsKey(message.getId()) && !index.suppressed.contains(message.getId())) {
+                        index.add(message.getId(), textOf(message));
+                    }
+                }
+            }
+            loaded += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+            if (batch.size() < buildBatchSize) {
+                break;
+            }
+        }
+        synchronized (index) {
+            index.suppressed.clear();
+            index.expiresAtNanos = System.nanoTime() + ttlNanos;
+            index.ready = true;
+        }
+        log.info("Built chat search index for group {}: {} messages, {} terms in {} ms", groupId, loaded,
+                index.terms.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String textOf(ChatMessage message) {
+        String content = message.getContent();
+        String attachmentName = message.getAttachmentName();
+        if (attachmentName == null || attachmentName.equals(content)) {
+            return content;
+        }
+        return content == null ? attachmentName : content + " " + attachmentName;
+    }
+
+    /** Lower-cases and splits on anything that is not a letter or digit. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public record Hit(long messageId, double score) {
+    }
+
+    public record SearchResult(int total, List<Hit> hits) {
+    }
+
+    private record Doc(String[] terms, int length) {
+    }
+
+    /** Per-group index; guarded by its own monitor. */
+    private static final class GroupIndex {
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Set<Long> suppressed = new HashSet<>();
+        private final Object buildLock = new Object();
+        private long totalLength;
+        private long expiresAtNanos;
+        private volatile boolean ready;
+
+        void add(long id, String text) {
+            List<String> tokens = tokenize(text);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+
+            String[] docTerms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings postings = terms.get(entry.getKey());
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(entry.getKey(), postings);
+                }
+                postings.put(id, entry.getValue());
+                // Share the key instance held by the term map
+                docTerms[i++] = terms.ceilingKey(entry.getKey());
+            }
+            docs.put(id, new Doc(docTerms, tokens.size()));
+            totalLength += tokens.size();
+        }
+
+        void remove(long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            totalLength -= doc.length();
+            for (String term : doc.terms()) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(id) && postings.size == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+
+        List<Postings> exactPostings(String term) {
+            Postings postings = terms.get(term);
+            return postings == null ? List.of() : List.of(postings);
+        }
+
+        List<Postings> prefixPostings(String prefix, int maxExpansions) {
+            SortedMap<String, Postings> range = terms.subMap(prefix, prefix + Character.MAX_VALUE);
+            List<Postings> lists = new ArrayList<>();
+            for (Postings postings : range.values()) {
+                lists.add(postings);
+                if (lists.size() >= maxExpansions) {
+                    break;
+                }
+            }
+            return lists;
+        }
+    }
+
+    /** Posting list of one term: message ids kept sorted, with the term frequency of each. */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        void put(long id, int tf) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                tfs[i] = tf;
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            // New messages have the highest ids, so this is almost always an append
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(tfs, i, tfs, i + 1, size - i);
+            ids[i] = id;
+            tfs[i] = tf;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            System.arraycopy(tfs, i + 1, tfs, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        int tf(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            return i >= 0 ? tfs[i] : 0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of chat search results, best match first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSearchResponse {
+    private Long groupId;
+    private String query;
+    private int page;
+    private int size;
+    private long total;
+    private List<Hit> hits;
+
+    public record Hit(ChatMessage message, double score) {
+    }
+}
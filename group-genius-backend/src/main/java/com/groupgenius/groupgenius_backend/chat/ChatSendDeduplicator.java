@@ -0,0 +1,98 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import com.groupgenius.groupgenius_backend.cache.BoundedTtlCache;
+import com.groupgenius.groupgenius_backend.exception.ChatSendPendingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes chat sends idempotent per (groupId, senderId, clientMessageId) for a bounded,
+ * time-expiring window. A retried send returns the message stored by the first attempt
+ * instead of inserting and broadcasting it again. A retry that arrives while the first
+ * attempt is still running waits for it; if the first attempt fails, the retry runs.
+ * Callers are told when they got the original back, so they can answer the retry.
+ */
+@Slf4j
+@Component
+public class ChatSendDeduplicator {
+
+    private final BoundedTtlCache<SendKey, CompletableFuture<ChatMessage>> window;
+    private final Counter duplicateCounter;
+
+    // How long a retry waits for an in-flight first attempt
+    @Value("${app.chat.dedup.wait-ms:5000}")
+    private long waitMs;
+
+    public ChatSendDeduplicator(@Value("${app.chat.dedup.max-entries:50000}") int maxEntries,
+            @Value("${app.chat.dedup.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.window = new BoundedTtlCache<>(maxEntries, ttlSeconds * 1000);
+        this.duplicateCounter = Counter.builder("chat.send.duplicates")
+                .description("Chat sends recognised as retries and not persisted again")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code send} unless the same client message was already sent within the window.
+     *
+     * @return the stored message, flagged as a duplicate when it is the original one
+     * @throws ChatSendPendingException if a retry gave up waiting for the first attempt,
+     *         which will still broadcast
+     */
+    public <E extends Exception> SendOutcome deduplicate(Long groupId, Long senderId, String clientMessageId,
+            SendAction<E> send) throws E {
+        if (groupId == null || senderId == null || clientMessageId == null || clientMessageId.isBlank()) {
+            return new SendOutcome(send.send(), false);
+        }
+
+        SendKey key = new SendKey(groupId, senderId, clientMessageId);
+        CompletableFuture<ChatMessage> attempt = new CompletableFuture<>();
+        CompletableFuture<ChatMessage> original = window.putIfAbsent(key, attempt);
+        if (original != null) {
+            duplicateCounter.increment();
+            log.debug("Duplicate chat send {} in group {} from user {}", clientMessageId, groupId, senderId);
+            try {
+                return new SendOutcome(original.get(waitMs, TimeUnit.MILLISECONDS), true);
+            } catch (ExecutionException e) {
+                // The first attempt failed and released the key; this retry gets its turn
+                return deduplicate(groupId, senderId, clientMessageId, send);
+            } catch (TimeoutException e) {
+                log.warn("Gave up waiting for in-flight chat send {} in group {}", clientMessageId, groupId);
+                throw new ChatSendPendingException(clientMessageId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChatSendPendingException(clientMessageId);
+            }
+        }
+
+        try {
+            ChatMessage saved = send.send();
+            attempt.complete(saved);
+            return new SendOutcome(saved, false);
+        } catch (Exception e) {
+            window.invalidate(key);
+            attempt.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SendAction<E extends Exception> {
+        ChatMessage send() throws E;
+    }
+
+    /** The stored message; {@code duplicate} when it was stored by an earlier attempt. */
+    public record SendOutcome(ChatMessage message, boolean duplicate) {
+    }
+
+    private record SendKey(Long groupId, Long senderId, String clientMessageId) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each group's messages a monotonic {@code group_seq} from blocks reserved in the
+ * {@code chat_group_sequences} table, the same way {@link ChatMessageIdAllocator} reserves
+ * ids. A block is reserved before any of its numbers is used, so two nodes never hand out
+ * the same number and a restart never reuses numbers of messages lost from the
+ * write-behind queue. A group's row is seeded once from its MAX(group_seq); after that a
+ * reservation only touches the row, and uk_chat_group_seq rejects any duplicate that slips
+ * through anyway.
+ *
+ * <p>Numbers of an unused block remainder or of a failed write are skipped; clients that
+ * backfill such a gap simply get nothing for it. Blocks are used in every broker mode, so
+ * with several nodes ({@code app.chat.broker.mode=relay}) numbers are unique but only
+ * monotonic per node: messages from different nodes can interleave, which clients treat
+ * like any other gap.
+ */
+@Slf4j
+@Component
+public class ChatSequenceAllocator {
+
+    // One-time seed per group (and node): continues after numbers written before the row existed
+    private static final String ENSURE_ROW_SQL = "INSERT IGNORE INTO chat_group_sequences (group_id, next_val)"
+            + " SELECT ?, COALESCE(MAX(group_seq), 0) + 1 FROM chat_messages WHERE group_id = ?";
+
+    // LAST_INSERT_ID(expr) makes the new value readable on the same connection without a lock read
+    private static final String RESERVE_SQL =
+            "UPDATE chat_group_sequences SET next_val = LAST_INSERT_ID(next_val + ?) WHERE group_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    public ChatSequenceAllocator(JdbcTemplate jdbcTemplate,
+            @Value("${app.chat.seq-block-size:20}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public long next(Long groupId) {
+        Block block = blocks.computeIfAbsent(groupId, id -> new Block());
+        synchronized (block) {
+            // Reserve outside computeIfAbsent so the map bin is not held across a query
+            if (block.next >= block.end) {
+                reserve(groupId, block);
+            }
+            return block.next++;
+        }
+    }
+
+    /** Forgets a group's block and its sequence row, e.g. after the group was purged. */
+    public void reset(Long groupId) {
+        blocks.remove(groupId);
+        jdbcTemplate.update("DELETE FROM chat_group_sequences WHERE group_id = ?", groupId);
+    }
+
+    private void reserve(Long groupId, Block block) {
+        if (!block.rowEnsured) {
+            jdbcTemplate.update(ENSURE_ROW_SQL, groupId, groupId);
+            block.rowEnsured = true;
+        }
+
+        Long end = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+                update.setInt(1, blockSize);
+                update.setLong(2, groupId);
+                update.executeUpdate();
+            }
+            try (Statement select = connection.createStatement();
+                    ResultSet rs = select.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+
+        if (end == null || end <= 0) {
+            throw new IllegalStateException("Unable to reserve chat sequence numbers for group " + groupId);
+        }
+        block.end = end;
+        block.next = end - blockSize;
+        log.debug("Reserved chat sequence [{}, {}) for group {}", block.next, block.end, groupId);
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+        private boolean rowEnsured;
+    }
+}
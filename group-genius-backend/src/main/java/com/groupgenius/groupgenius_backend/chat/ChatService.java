@@ -1,25 +1,86 @@
 package com.groupgenius.groupgenius_backend.chat;
 
-import com.groupgenius.groupgenius_backend.repository.UserRepository;
+import com.groupgenius.groupgenius_backend.activity.GroupActivityTracker;
 import com.groupgenius.groupgenius_backend.service.FileStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ChatService {
     private final ChatMessageRepository chatMessageRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final UserRepository userRepository;
+    private final SenderProfileCache senderProfileCache;
     private final FileStorageService fileStorageService;
+    private final ChatMessageWriteBehind writeBehind;
+    private final MeterRegistry meterRegistry;
+    private final TypingIndicatorAggregator typingAggregator;
+    private final ChatSearchIndex searchIndex;
+    private final RecentMessageCache recentMessages;
+    private final ChatSequenceAllocator sequenceAllocator;
+    private final ChatSendDeduplicator sendDeduplicator;
+    private final GroupActivityTracker activityTracker;
+
+    @Value("${app.chat.history.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.chat.history.max-page-size:200}")
+    private int maxPageSize;
+
+    // Hard cap for the legacy full-history endpoint
+    @Value("${app.chat.history.legacy-limit:500}")
+    private int legacyHistoryLimit;
+
+    @Value("${app.chat.search.default-page-size:20}")
+    private int searchDefaultPageSize;
+
+    @Value("${app.chat.search.max-page-size:100}")
+    private int searchMaxPageSize;
+
+    // Deepest result position a search may page to
+    @Value("${app.chat.search.max-offset:1000}")
+    private int searchMaxOffset;
+
+    // Margin subtracted from the sync watermark to tolerate clock drift between nodes
+    @Value("${app.chat.sync.clock-skew-ms:2000}")
+    private long syncClockSkewMs;
+
+    /**
+     * Persists and broadcasts a live message. A retry of a message already sent (same
+     * group, sender and clientMessageId) is not inserted again; the stored original is
+     * echoed to the group once more, since the retry usually means the sender never saw
+     * the first echo. Clients upsert by id, so other members just see the same message.
+     *
+     * @throws com.groupgenius.groupgenius_backend.exception.ChatSendPendingException if
+     *         the first attempt is still running after the dedup wait
+     */
+    public ChatMessage processMessage(ChatMessage message) {
+        ChatSendDeduplicator.SendOutcome outcome = sendDeduplicator.deduplicate(message.getGroupId(),
+                message.getSenderId(), message.getClientMessageId(), () -> sendMessage(message));
+        ChatMessage saved = outcome.message();
+        if (outcome.duplicate() && saved != null) {
+            saved.setClientMessageId(message.getClientMessageId());
+            messagingTemplate.convertAndSend("/ws/group/" + saved.getGroupId(), saved);
+        }
+        return saved;
+    }
 
-    public void processMessage(ChatMessage message) {
+    private ChatMessage sendMessage(ChatMessage message) {
         if (message.getTimestamp() == null) {
             // Store timestamp in UTC
             message.setTimestamp(Instant.now());
@@ -28,41 +89,281 @@ public class ChatService {
         if (message.getMessageType() == null || message.getMessageType().isBlank()) {
             message.setMessageType("TEXT");
         }
+        message.setDeleted(false);
 
-        // Enrich message with sender metadata from User entity
-        if (message.getSenderId() != null) {
-            userRepository.findById(message.getSenderId()).ifPresent(user -> {
-                message.setSender(user.getFirstName() + " " + user.getLastName());
-                message.setSenderPhone(user.getEmail()); // Using email as phone placeholder
-                message.setSenderProfileImageUrl(user.getProfileImageUrl());
-            });
-        }
+        // Enrich message with sender metadata (cached user profile)
+        enrichWithSender(message);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
 
-        // Persist server-side and obtain entity with generated identifier
-        ChatMessage saved = chatMessageRepository.save(message);
+        // Persist server-side (or queue for write-behind) and obtain the identifier
+        ChatMessage saved = persistNew(message);
+        searchIndex.onMessageSaved(saved);
+        recentMessages.onMessageSaved(saved);
+        activityTracker.recordMessage(saved.getGroupId(), saved.getSenderId());
 
         // Preserve client reference id for optimistic UI reconciliation
         saved.setClientMessageId(message.getClientMessageId());
 
         // Echo to subscribers with enriched metadata (including generated id)
         messagingTemplate.convertAndSend("/ws/group/" + saved.getGroupId(), saved);
+
+        sample.stop(Timer.builder("chat.message.send")
+                .tag("mode", writeBehind.isEnabled() ? "write-behind" : "sync")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+        return saved;
     }
 
+    private ChatMessage persistNew(ChatMessage message) {
+        message.setGroupSeq(sequenceAllocator.next(message.getGroupId()));
+        if (writeBehind.accepts(message)) {
+            return writeBehind.enqueue(message);
+        }
+        if (writeBehind.isEnabled()) {
+            // Not queued, but the id still comes from the allocator's blocks
+            return writeBehind.insertNow(message);
+        }
+        return chatMessageRepository.save(message);
+    }
+
+    /**
+     * Legacy history endpoint: returns at most the latest {@code legacyHistoryLimit}
+     * messages in chronological order.
+     */
     public List<ChatMessage> getHistory(Long groupId) {
-        List<ChatMessage> history = chatMessageRepository.findByGroupIdOrderByTimestampAsc(groupId);
-
-        // Enrich each historical message with sender metadata
-        history.forEach(msg -> {
-            if (msg.getSenderId() != null) {
-                userRepository.findById(msg.getSenderId()).ifPresent(user -> {
-                    msg.setSender(user.getFirstName() + " " + user.getLastName());
-                    msg.setSenderPhone(user.getEmail()); // Using email as phone placeholder
-                    msg.setSenderProfileImageUrl(user.getProfileImageUrl());
-                });
+        writeBehind.flush();
+        List<ChatMessage> history = new ArrayList<>(
+                chatMessageRepository.findByGroupIdAndDeletedFalseOrderByIdDesc(groupId, PageRequest.of(0, legacyHistoryLimit)));
+        Collections.reverse(history);
+
+        enrichWithSenders(history);
+        return history;
+    }
+
+    /**
+     * Keyset-paginated history, newest first. {@code beforeId} is the id of the oldest
+     * message the client already has (null for the latest page).
+     */
+    public ChatHistoryPage getHistoryPage(Long groupId, Long beforeId, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        if (beforeId == null) {
+            // Latest page: usually answered by the in-memory ring buffer (which also holds
+            // messages still queued for write-behind, so no flush is needed)
+            Optional<RecentMessageCache.RecentPage> recent = recentMessages.latest(groupId, pageSize);
+            if (recent.isPresent()) {
+                return toHistoryPage(groupId, recent.get().messages(), recent.get().hasMore());
+            }
+        }
+        List<ChatMessage> rows;
+        if (beforeId == null) {
+            // Read enough rows to fill the ring buffer as well as this page
+            int window = Math.max(pageSize, recentMessages.capacity()) + 1;
+            // Begin before flushing: a message saved in between then marks the load stale
+            // instead of being missed by both the buffer and the query
+            recentMessages.beginLoad(groupId);
+            try {
+                writeBehind.flush();
+                rows = chatMessageRepository.findByGroupIdAndDeletedFalseOrderByIdDesc(groupId,
+                        PageRequest.of(0, window));
+            } catch (RuntimeException e) {
+                recentMessages.invalidate(groupId);
+                throw e;
+            }
+            recentMessages.completeLoad(groupId, rows);
+            if (rows.size() > pageSize + 1) {
+                rows = rows.subList(0, pageSize + 1);
+            }
+        } else {
+            writeBehind.flush();
+            // Fetch one extra row to learn whether an older page exists without a COUNT query
+            rows = chatMessageRepository.findByGroupIdAndDeletedFalseAndIdLessThanOrderByIdDesc(groupId, beforeId,
+                    PageRequest.of(0, pageSize + 1));
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> messages = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        return toHistoryPage(groupId, messages, hasMore);
+    }
+
+    private ChatHistoryPage toHistoryPage(Long groupId, List<ChatMessage> messages, boolean hasMore) {
+        enrichWithSenders(messages);
+
+        return ChatHistoryPage.builder()
+                .groupId(groupId)
+                .messages(messages)
+                .nextCursor(hasMore ? messages.get(messages.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Delta sync for reconnecting clients. Returns messages newer than {@code afterId}
+     * (oldest first), plus edits and delete tombstones of older messages changed after
+     * {@code since}. Pass the returned {@code syncedAt} as {@code since} next time; without
+     * it the timestamp of message {@code afterId} is used. While {@code hasMore} is set,
+     * call again with {@code afterId = lastId} and the same {@code since}.
+     */
+    public ChatSyncResponse sync(Long groupId, Long afterId, Instant since, Integer limit) {
+        if (afterId == null) {
+            throw new IllegalArgumentException("afterId is required");
+        }
+        int pageSize = resolvePageSize(limit);
+        writeBehind.flush();
+
+        // Taken before querying so changes committed meanwhile are picked up by the next sync
+        Instant syncedAt = Instant.now();
+        Instant watermark = since;
+        if (watermark == null) {
+            // afterId must be one of this group's messages, or its timestamp would skew the watermark
+            ChatMessage after = chatMessageRepository.findById(afterId).orElse(null);
+            if (after != null && !groupId.equals(after.getGroupId())) {
+                throw new IllegalArgumentException("afterId does not belong to this group");
+            }
+            watermark = after != null ? after.getTimestamp() : Instant.EPOCH;
+        }
+        watermark = watermark.minusMillis(syncClockSkewMs);
+
+        List<ChatMessage> rows = chatMessageRepository.findByGroupIdAndDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                groupId, afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> messages = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        Long lastId = messages.isEmpty() ? afterId : messages.get(messages.size() - 1).getId();
+
+        List<ChatMessage> changes = chatMessageRepository
+                .findByGroupIdAndIdLessThanEqualAndUpdatedAtAfterOrderByUpdatedAtAsc(
+                        groupId, afterId, watermark, PageRequest.of(0, pageSize + 1));
+        // Too much changed while away: cheaper for the client to reload history than to patch it
+        boolean reloadRequired = changes.size() > pageSize;
+
+        List<ChatMessage> edited = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        if (!reloadRequired) {
+            changes.forEach(msg -> {
+                if (Boolean.TRUE.equals(msg.getDeleted())) {
+                    deletedIds.add(msg.getId());
+                } else {
+                    edited.add(msg);
+                }
+            });
+        }
+
+        List<ChatMessage> toEnrich = new ArrayList<>(messages);
+        toEnrich.addAll(edited);
+        enrichWithSenders(toEnrich);
+
+        return ChatSyncResponse.builder()
+                .groupId(groupId)
+                .messages(messages)
+                .edited(edited)
+                .deletedIds(deletedIds)
+                .lastId(lastId)
+                .syncedAt(syncedAt)
+                .hasMore(hasMore)
+                .reloadRequired(reloadRequired)
+                .build();
+    }
+
+    /**
+     * Full-text search over a group's messages (content and attachment names), ranked by
+     * relevance. {@code page} is zero-based.
+     */
+    public ChatSearchResponse search(Long groupId, String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int pageSize = size == null || size <= 0 ? searchDefaultPageSize : Math.min(size, searchMaxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        long requestedOffset = (long) pageNumber * pageSize;
+        if (requestedOffset > searchMaxOffset) {
+            // Clamping would serve the same last page for every deeper page number
+            throw new IllegalArgumentException("Search results are limited to the first " + searchMaxOffset
+                    + " matches; refine the query instead of paging further");
+        }
+        int offset = (int) requestedOffset;
+
+        // Register the index first: a message queued after the flush then reaches the index
+        // directly, one queued before it is in the table when the build reads it
+        searchIndex.prepare(groupId);
+        writeBehind.flush();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ChatSearchIndex.SearchResult result = searchIndex.search(groupId, query, offset, pageSize);
+        sample.stop(Timer.builder("chat.search.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+
+        // Load the page's rows in one query and keep the ranking order
+        Map<Long, ChatMessage> rows = chatMessageRepository.findAllById(result.hits().stream()
+                        .map(ChatSearchIndex.Hit::messageId)
+                        .toList())
+                .stream()
+                .filter(msg -> !Boolean.TRUE.equals(msg.getDeleted()))
+                .collect(Collectors.toMap(ChatMessage::getId, msg -> msg));
+        enrichWithSenders(new ArrayList<>(rows.values()));
+
+        List<ChatSearchResponse.Hit> hits = new ArrayList<>();
+        result.hits().forEach(hit -> {
+            ChatMessage msg = rows.get(hit.messageId());
+            if (msg != null) {
+                hits.add(new ChatSearchResponse.Hit(msg, hit.score()));
             }
         });
 
-        return history;
+        return ChatSearchResponse.builder()
+                .groupId(groupId)
+                .query(query)
+                .page(pageNumber)
+                .size(pageSize)
+                .total(result.total())
+                .hits(hits)
+                .build();
+    }
+
+    /**
+     * Gap backfill: the group's messages with {@code fromSeq <= groupSeq <= toSeq}, in
+     * sequence order. Deleted messages come back as tombstones ({@code deleted = true}) so
+     * the client can tell a deletion from a message it still lacks.
+     */
+    public List<ChatMessage> getRange(Long groupId, Long fromSeq, Long toSeq) {
+        if (fromSeq == null || toSeq == null || fromSeq < 1 || toSeq < fromSeq) {
+            throw new IllegalArgumentException("Invalid sequence range");
+        }
+        long upper = Math.min(toSeq, fromSeq + maxPageSize - 1);
+        writeBehind.flush();
+
+        List<ChatMessage> messages = chatMessageRepository.findByGroupIdAndGroupSeqBetweenOrderByGroupSeqAsc(
+                groupId, fromSeq, upper);
+        enrichWithSenders(messages);
+        return messages;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        return limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+    }
+
+    private void enrichWithSender(ChatMessage message) {
+        senderProfileCache.get(message.getSenderId()).ifPresent(profile -> applySender(message, profile));
+    }
+
+    private void enrichWithSenders(List<ChatMessage> messages) {
+        // Resolve all distinct senders at once instead of one lookup per message
+        Map<Long, SenderProfile> profiles = senderProfileCache.getAll(messages.stream()
+                .map(ChatMessage::getSenderId)
+                .collect(Collectors.toSet()));
+
+        messages.forEach(msg -> {
+            SenderProfile profile = profiles.get(msg.getSenderId());
+            if (profile != null) {
+                applySender(msg, profile);
+            }
+        });
+    }
+
+    private void applySender(ChatMessage message, SenderProfile profile) {
+        message.setSender(profile.displayName());
+        message.setSenderPhone(profile.email()); // Using email as phone placeholder
+        message.setSenderProfileImageUrl(profile.avatarUrl());
     }
 
     public ChatMessage createAttachmentMessage(Long groupId,
@@ -70,6 +371,16 @@ public class ChatService {
             String caption,
             MultipartFile file,
             String clientMessageId) throws IOException {
+        // Dedup before storing so a retried upload is not stored twice either
+        return sendDeduplicator.deduplicate(groupId, senderId, clientMessageId,
+                () -> storeAttachmentMessage(groupId, senderId, caption, file, clientMessageId)).message();
+    }
+
+    private ChatMessage storeAttachmentMessage(Long groupId,
+            Long senderId,
+            String caption,
+            MultipartFile file,
+            String clientMessageId) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File must not be empty");
         }
@@ -101,15 +412,12 @@ public class ChatService {
             message.setContent(file.getOriginalFilename());
         }
 
-        if (message.getSenderId() != null) {
-            userRepository.findById(message.getSenderId()).ifPresent(user -> {
-                message.setSender(user.getFirstName() + " " + user.getLastName());
-                message.setSenderPhone(user.getEmail());
-                message.setSenderProfileImageUrl(user.getProfileImageUrl());
-            });
-        }
+        enrichWithSender(message);
 
-        ChatMessage saved = chatMessageRepository.save(message);
+        ChatMessage saved = persistNew(message);
+        searchIndex.onMessageSaved(saved);
+        recentMessages.onMessageSaved(saved);
+        activityTracker.recordMessage(groupId, senderId);
         saved.setSender(message.getSender());
         saved.setSenderPhone(message.getSenderPhone());
         saved.setSenderProfileImageUrl(message.getSenderProfileImageUrl());
@@ -159,20 +467,20 @@ public class ChatService {
     }
 
     public void editMessage(Long messageId, String newContent, Long groupId) {
-        chatMessageRepository.findById(messageId).ifPresent(message -> {
+        // Make sure a message still sitting in the write-behind queue can be found
+        writeBehind.flush();
+        chatMessageRepository.findById(messageId)
+                .filter(message -> !Boolean.TRUE.equals(message.getDeleted()))
+                .ifPresent(message -> {
             message.setContent(newContent);
             message.setEdited(true);
 
             // Enrich with sender metadata and persist changes
-            if (message.getSenderId() != null) {
-                userRepository.findById(message.getSenderId()).ifPresent(user -> {
-                    message.setSender(user.getFirstName() + " " + user.getLastName());
-                    message.setSenderPhone(user.getEmail());
-                    message.setSenderProfileImageUrl(user.getProfileImageUrl());
-                });
-            }
+            enrichWithSender(message);
 
             ChatMessage updated = chatMessageRepository.save(message);
+            searchIndex.onMessageSaved(updated);
+            recentMessages.onMessageSaved(updated);
 
             // Broadcast updated message
             messagingTemplate.convertAndSend("/ws/group/" + groupId, updated);
@@ -180,21 +488,34 @@ public class ChatService {
     }
 
     public void deleteMessage(Long messageId, Long groupId) {
-        chatMessageRepository.findById(messageId).ifPresent(message -> {
-            chatMessageRepository.deleteById(messageId);
+        writeBehind.flush();
+        chatMessageRepository.findById(messageId)
+                .filter(message -> !Boolean.TRUE.equals(message.getDeleted()))
+                .ifPresent(message -> {
+            // Soft-delete: keep a content-less tombstone so sync can report the deletion
+            message.setDeleted(true);
+            message.setContent("");
+            message.setAttachmentUrl(null);
+            message.setAttachmentName(null);
+            message.setAttachmentType(null);
+            message.setAttachmentSize(null);
+            chatMessageRepository.save(message);
+            searchIndex.onMessageDeleted(groupId, messageId);
+            recentMessages.onMessageDeleted(groupId, messageId);
 
             // Broadcast delete event
             ChatMessage deleteEvent = new ChatMessage();
             deleteEvent.setId(messageId);
             deleteEvent.setGroupId(groupId);
+            deleteEvent.setGroupSeq(message.getGroupSeq());
             deleteEvent.setContent("[DELETED]");
             messagingTemplate.convertAndSend("/ws/group/" + groupId + "/delete", deleteEvent);
         });
     }
 
     public void broadcastTypingIndicator(Long groupId, java.util.Map<String, Object> payload) {
-        // Broadcast typing indicator to all subscribers of the group
         // Payload should contain: { userId, username, isTyping }
-        messagingTemplate.convertAndSend("/ws/group/" + groupId + "/typing", payload);
+        // Coalesced and broadcast to /ws/group/{id}/typing by the aggregator's flush
+        typingAggregator.record(groupId, payload);
     }
 }
@@ -0,0 +1,33 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything a reconnecting client missed since its last seen message.
+ * If {@code reloadRequired} is set, too much changed to patch and the client should
+ * reload history instead of applying {@code edited}/{@code deletedIds}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSyncResponse {
+    private Long groupId;
+    // New messages after the client's last seen id, oldest first
+    private List<ChatMessage> messages;
+    // Current state of already-seen messages that were edited
+    private List<ChatMessage> edited;
+    private List<Long> deletedIds;
+    // Highest id covered by this response; the next afterId
+    private Long lastId;
+    // Pass back as "since" on the next sync
+    private Instant syncedAt;
+    private boolean hasMore;
+    private boolean reloadRequired;
+}
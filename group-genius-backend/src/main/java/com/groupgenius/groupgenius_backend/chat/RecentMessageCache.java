@@ -0,0 +1,321 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ring buffer of the latest {@code app.chat.recent.capacity} messages of recently opened
+ * groups, so the first history page is served from memory.
+ *
+ * <p>A group is loaded from the table on its first miss and then kept current by
+ * {@link ChatService} on send, edit and delete. Cold groups are evicted (least recently
+ * used first) once the estimated size of all buffers exceeds
+ * {@code app.chat.recent.max-bytes}. Messages are copied in and out, so callers can enrich
+ * or modify what they get back; sender fields are re-applied by the caller on read.
+ *
+ * <p>Only this node's sends, edits and deletes reach the buffer, so it is bypassed
+ * entirely when {@code app.chat.broker.mode=relay} (several nodes share the chat). A
+ * loaded group is also reloaded after {@code app.chat.recent.ttl-seconds} as a backstop
+ * for changes made outside {@link ChatService}.
+ */
+@Component
+public class RecentMessageCache {
+
+    private final int capacity;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final boolean enabled;
+    private final LinkedHashMap<Long, GroupBuffer> groups = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RecentMessageCache(@Value("${app.chat.recent.capacity:50}") int capacity,
+            @Value("${app.chat.recent.max-bytes:67108864}") long maxBytes,
+            @Value("${app.chat.recent.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.chat.broker.mode:simple}") String brokerMode,
+            MeterRegistry meterRegistry) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("app.chat.recent.capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.enabled = !"relay".equalsIgnoreCase(brokerMode);
+        this.hitCounter = Counter.builder("chat.recent.hits").register(meterRegistry);
+        this.missCounter = Counter.builder("chat.recent.misses").register(meterRegistry);
+        Gauge.builder("chat.recent.bytes", this, RecentMessageCache::estimatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chat.recent.groups", this, RecentMessageCache::groupCount)
+                .register(meterRegistry);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Latest {@code limit} messages of the group, newest first, if the buffer can answer
+     * the request on its own.
+     */
+    public Optional<RecentPage> latest(Long groupId, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (groups) {
+            GroupBuffer buffer = groups.get(groupId);
+            if (buffer != null && !buffer.loading && System.nanoTime() - buffer.expiresAtNanos >= 0) {
+                remove(groupId);
+                buffer = null;
+            }
+            if (buffer == null || buffer.loading || (buffer.messages.size() < limit && !buffer.exhaustive)) {
+                missCounter.increment();
+                return Optional.empty();
+            }
+            List<ChatMessage> page = new ArrayList<>(Math.min(limit, buffer.messages.size()));
+            Iterator<ChatMessage> newestFirst = buffer.messages.descendingIterator();
+            while (newestFirst.hasNext() && page.size() < limit) {
+                page.add(copy(newestFirst.next()));
+            }
+            hitCounter.increment();
+            return Optional.of(new RecentPage(page, buffer.messages.size() > limit || !buffer.exhaustive));
+        }
+    }
+
+    /**
+     * Starts loading a group. Live updates that arrive before {@link #completeLoad} mark
+     * the load as stale, in which case its rows are discarded.
+     */
+    public void beginLoad(Long groupId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (groups) {
+            GroupBuffer buffer = groups.get(groupId);
+            if (buffer == null || !buffer.loading) {
+                replace(groupId, new GroupBuffer(true));
+            }
+        }
+    }
+
+    /**
+     * Installs rows read from the table (newest first, up to {@code capacity + 1} of them).
+     */
+    public void completeLoad(Long groupId, List<ChatMessage> newestFirst) {
+        synchronized (groups) {
+            GroupBuffer buffer = groups.get(groupId);
+            if (buffer == null || !buffer.loading) {
+                return;
+            }
+            if (buffer.stale) {
+                // Something changed while we were reading; load again on the next miss
+                remove(groupId);
+                return;
+            }
+            GroupBuffer loaded = new GroupBuffer(false);
+            loaded.expiresAtNanos = System.nanoTime() + ttlNanos;
+            loaded.exhaustive = newestFirst.size() <= capacity;
+            for (int i = Math.min(capacity, newestFirst.size()) - 1; i >= 0; i--) {
+                loaded.append(copy(newestFirst.get(i)));
+            }
+            replace(groupId, loaded);
+            evictOverBudget();
+        }
+    }
+
+    /** Adds a new message, or replaces it if already buffered (send and edit). */
+    public void onMessageSaved(ChatMessage message) {
+        if (message == null || message.getId() == null || message.getGroupId() == null) {
+            return;
+        }
+        synchronized (groups) {
+            GroupBuffer buffer = groups.get(message.getGroupId());
+            if (buffer == null) {
+                return;
+            }
+            if (buffer.loading) {
+                buffer.stale = true;
+                return;
+            }
+            totalBytes -= buffer.bytes;
+            boolean buffered = buffer.removeById(message.getId());
+            // Edits of messages older than the window are not pulled into it
+            if (!Boolean.TRUE.equals(message.getDeleted()) && (buffered || buffer.covers(message.getId()))) {
+                buffer.insert(copy(message));
+                if (buffer.messages.size() > capacity) {
+                    buffer.removeOldest();
+                    buffer.exhaustive = false;
+                }
+            }
+            totalBytes += buffer.bytes;
+            evictOverBudget();
+        }
+    }
+
+    public void onMessageDeleted(Long groupId, Long messageId) {
+        synchronized (groups) {
+            GroupBuffer buffer = groups.get(groupId);
+            if (buffer == null) {
+                return;
+            }
+            if (buffer.loading) {
+                buffer.stale = true;
+                return;
+            }
+            totalBytes -= buffer.bytes;
+            buffer.removeById(messageId);
+            totalBytes += buffer.bytes;
+        }
+    }
+
+    public void invalidate(Long groupId) {
+        synchronized (groups) {
+            remove(groupId);
+        }
+    }
+
+    private long estimatedBytes() {
+        synchronized (groups) {
+            return totalBytes;
+        }
+    }
+
+    private int groupCount() {
+        synchronized (groups) {
+            return groups.size();
+        }
+    }
+
+    private void replace(Long groupId, GroupBuffer buffer) {
+        remove(groupId);
+        groups.put(groupId, buffer);
+        totalBytes += buffer.bytes;
+    }
+
+    private void remove(Long groupId) {
+        GroupBuffer previous = groups.remove(groupId);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<GroupBuffer> eldestFirst = groups.values().iterator();
+        // Keep at least the most recently used group even if it alone exceeds the budget
+        while (totalBytes > maxBytes && groups.size() > 1 && eldestFirst.hasNext()) {
+            GroupBuffer eldest = eldestFirst.next();
+            totalBytes -= eldest.bytes;
+            eldestFirst.remove();
+        }
+    }
+
+    /**
+     * Rough retained size of a message: object headers and boxed fields plus two bytes
+     * per character of its strings.
+     */
+    private static long estimateBytes(ChatMessage message) {
+        long chars = length(message.getContent()) + length(message.getAttachmentUrl())
+                + length(message.getAttachmentName()) + length(message.getAttachmentType())
+                + length(message.getMessageType()) + length(message.getSender())
+                + length(message.getSenderPhone()) + length(message.getSenderProfileImageUrl());
+        return 256 + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static ChatMessage copy(ChatMessage source) {
+        ChatMessage copy = new ChatMessage();
+        copy.setId(source.getId());
+        copy.setGroupId(source.getGroupId());
+        copy.setGroupSeq(source.getGroupSeq());
+        copy.setSenderId(source.getSenderId());
+        copy.setContent(source.getContent());
+        copy.setTimestamp(source.getTimestamp());
+        copy.setMessageType(source.getMessageType());
+        copy.setEdited(source.getEdited());
+        copy.setAttachmentUrl(source.getAttachmentUrl());
+        copy.setAttachmentType(source.getAttachmentType());
+        copy.setAttachmentName(source.getAttachmentName());
+        copy.setAttachmentSize(source.getAttachmentSize());
+        copy.setDeleted(source.getDeleted());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setSender(source.getSender());
+        copy.setSenderPhone(source.getSenderPhone());
+        copy.setSenderProfileImageUrl(source.getSenderProfileImageUrl());
+        return copy;
+    }
+
+    /** Latest messages of a group, newest first. */
+    public record RecentPage(List<ChatMessage> messages, boolean hasMore) {
+    }
+
+    /** Oldest message at the head, newest at the tail; guarded by the cache monitor. */
+    private static final class GroupBuffer {
+        private final Deque<ChatMessage> messages = new ArrayDeque<>();
+        private final boolean loading;
+        private boolean stale;
+        // True when the buffer holds every (non-deleted) message of the group
+        private boolean exhaustive;
+        private long bytes;
+        private long expiresAtNanos;
+
+        GroupBuffer(boolean loading) {
+            this.loading = loading;
+        }
+
+        void append(ChatMessage message) {
+            messages.addLast(message);
+            bytes += estimateBytes(message);
+        }
+
+        void insert(ChatMessage message) {
+            // Concurrent sends can complete out of id order; keep the buffer sorted
+            Deque<ChatMessage> newer = new ArrayDeque<>();
+            while (!messages.isEmpty() && messages.peekLast().getId() > message.getId()) {
+                newer.addFirst(messages.pollLast());
+            }
+            messages.addLast(message);
+            messages.addAll(newer);
+            bytes += estimateBytes(message);
+        }
+
+        void removeOldest() {
+            ChatMessage oldest = messages.pollFirst();
+            if (oldest != null) {
+                bytes -= estimateBytes(oldest);
+            }
+        }
+
+        boolean covers(Long id) {
+            return exhaustive || (!messages.isEmpty() && id > messages.peekFirst().getId());
+        }
+
+        boolean removeById(Long id) {
+            Iterator<ChatMessage> it = messages.descendingIterator();
+            while (it.hasNext()) {
+                ChatMessage message = it.next();
+                if (message.getId().equals(id)) {
+                    bytes -= estimateBytes(message);
+                    it.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
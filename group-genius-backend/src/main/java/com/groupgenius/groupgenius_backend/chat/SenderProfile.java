@@ -0,0 +1,7 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+/**
+ * Snapshot of the user fields used to enrich chat messages.
+ */
+public record SenderProfile(Long userId, String displayName, String email, String avatarUrl) {
+}
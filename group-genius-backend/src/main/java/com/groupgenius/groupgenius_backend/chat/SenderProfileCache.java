@@ -0,0 +1,114 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import com.groupgenius.groupgenius_backend.cache.BoundedTtlCache;
+import com.groupgenius.groupgenius_backend.entity.User;
+import com.groupgenius.groupgenius_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches sender display data (name, email, avatar) so chat enrichment does not hit
+ * the users table for every message. Profile updates must call {@link #invalidate(Long)}.
+ *
+ * <p>Invalidation happens after the updating transaction commits, and a load that was
+ * in flight when any profile was invalidated is returned but not cached, so an old
+ * profile read just before the commit can never be kept for the full TTL.
+ */
+@Component
+public class SenderProfileCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<Long, SenderProfile> cache;
+    // Bumped on every invalidation; loads only cache what they read if it did not move
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SenderProfileCache(UserRepository userRepository,
+            @Value("${app.chat.sender-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.chat.sender-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    public Optional<SenderProfile> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        SenderProfile cached = cache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = invalidations.get();
+        return userRepository.findById(userId).map(user -> store(user, stamp));
+    }
+
+    /**
+     * Resolves all given users, loading every cache miss with a single query.
+     */
+    public Map<Long, SenderProfile> getAll(Collection<Long> userIds) {
+        Map<Long, SenderProfile> result = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || result.containsKey(userId)) {
+                continue;
+            }
+            SenderProfile cached = cache.get(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long stamp = invalidations.get();
+            for (User user : userRepository.findAllById(misses)) {
+                result.put(user.getId(), store(user, stamp));
+            }
+        }
+        return result;
+    }
+
+    /** Drops the user's profile once the current transaction (if any) commits. */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> {
+                invalidations.incrementAndGet();
+                cache.invalidate(userId);
+            });
+        }
+    }
+
+    private SenderProfile store(User user, long stamp) {
+        SenderProfile profile = new SenderProfile(user.getId(),
+                user.getFirstName() + " " + user.getLastName(),
+                user.getEmail(),
+                user.getProfileImageUrl());
+        if (invalidations.get() == stamp) {
+            cache.put(user.getId(), profile);
+        }
+        return profile;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
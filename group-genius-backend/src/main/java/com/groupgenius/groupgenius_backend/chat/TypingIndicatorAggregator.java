@@ -0,0 +1,204 @@
+package com.groupgenius.groupgenius_backend.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces raw typing events into one "who is typing" frame per group.
+ *
+ * <p>Clients send a typing event on every keystroke; instead of rebroadcasting each one,
+ * events only update per-group state here. A scheduled flush publishes a compact frame
+ * {@code {groupId, typing: [{userId, username}], stopped: [userId]}} to
+ * {@code /ws/group/{id}/typing} when the set of typers changed, plus a keep-alive while
+ * anyone is still typing. Typers that go quiet are expired server-side.
+ *
+ * <p>Each frame lists only the typers this node knows about, so with the broker relay
+ * clients should treat {@code typing} as a refresh (with their own timeout) rather than
+ * a full replacement.
+ */
+@Slf4j
+@Component
+public class TypingIndicatorAggregator {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<Long, GroupTypers> groups = new ConcurrentHashMap<>();
+
+    private final Counter receivedCounter;
+    private final Counter emittedCounter;
+    private final Counter savedCounter;
+
+    // How long a typer stays listed without a fresh event
+    @Value("${app.chat.typing.expiry-ms:5000}")
+    private long expiryMs;
+
+    // Re-announce active typers so client-side timeouts do not drop them
+    @Value("${app.chat.typing.keep-alive-ms:2000}")
+    private long keepAliveMs;
+
+    public TypingIndicatorAggregator(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.receivedCounter = Counter.builder("chat.typing.frames.received")
+                .description("Raw typing events received from clients")
+                .register(meterRegistry);
+        this.emittedCounter = Counter.builder("chat.typing.frames.emitted")
+                .description("Coalesced typing frames broadcast to groups")
+                .register(meterRegistry);
+        this.savedCounter = Counter.builder("chat.typing.frames.saved")
+                .description("Typing broadcasts avoided by coalescing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a raw typing event. Payload: {@code { userId, username, isTyping }}.
+     */
+    public void record(Long groupId, Map<String, Object> payload) {
+        Long userId = toLong(payload.get("userId"));
+        if (groupId == null || userId == null) {
+            return;
+        }
+        receivedCounter.increment();
+
+        Object username = payload.get("username");
+        boolean typing = !"false".equals(String.valueOf(payload.get("isTyping")));
+
+        while (true) {
+            GroupTypers state = groups.computeIfAbsent(groupId, id -> new GroupTypers());
+            synchronized (state) {
+                // The flush may have dropped this (idle) state while we waited for it
+                if (state.removed) {
+                    continue;
+                }
+                state.pendingEvents++;
+                if (typing) {
+                    state.start(userId, username != null ? username.toString() : null,
+                            System.currentTimeMillis() + expiryMs);
+                } else {
+                    state.stop(userId);
+                }
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.typing.flush-interval-ms:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        groups.forEach((groupId, state) -> {
+            Map<String, Object> frame;
+            synchronized (state) {
+                state.expire(now);
+                boolean keepAlive = !state.typers.isEmpty() && now - state.lastEmitAt >= keepAliveMs;
+                frame = state.changed || keepAlive ? state.toFrame(groupId) : null;
+
+                long saved = state.pendingEvents - (frame != null ? 1 : 0);
+                if (saved > 0) {
+                    savedCounter.increment(saved);
+                }
+                state.pendingEvents = 0;
+
+                if (frame != null) {
+                    state.changed = false;
+                    state.stopped.clear();
+                    state.lastEmitAt = now;
+                }
+                if (state.typers.isEmpty() && frame == null) {
+                    state.removed = true;
+                    groups.remove(groupId, state);
+                }
+            }
+
+            if (frame != null) {
+                try {
+                    messagingTemplate.convertAndSend("/ws/group/" + groupId + "/typing", frame);
+                    emittedCounter.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to broadcast typing frame for group {}", groupId, e);
+                }
+            }
+        });
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private record Typer(String username, long expiresAt) {
+    }
+
+    /** Per-group state; guarded by its own monitor. */
+    private static final class GroupTypers {
+        private final Map<Long, Typer> typers = new LinkedHashMap<>();
+        private final Set<Long> stopped = new LinkedHashSet<>();
+        private boolean changed;
+        private long pendingEvents;
+        private long lastEmitAt;
+        private boolean removed;
+
+        void start(Long userId, String username, long expiresAt) {
+            Typer previous = typers.put(userId, new Typer(username, expiresAt));
+            if (previous == null || !Objects.equals(previous.username(), username)) {
+                changed = true;
+            }
+            stopped.remove(userId);
+        }
+
+        void stop(Long userId) {
+            if (typers.remove(userId) != null) {
+                stopped.add(userId);
+                changed = true;
+            }
+        }
+
+        void expire(long now) {
+            typers.entrySet().removeIf(entry -> {
+                if (entry.getValue().expiresAt() <= now) {
+                    stopped.add(entry.getKey());
+                    changed = true;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        Map<String, Object> toFrame(Long groupId) {
+            List<Map<String, Object>> typing = new ArrayList<>(typers.size());
+            typers.forEach((userId, typer) -> {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("userId", userId);
+                entry.put("username", typer.username());
+                typing.add(entry);
+            });
+
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("groupId", groupId);
+            frame.put("typing", typing);
+            frame.put("stopped", new ArrayList<>(stopped));
+            return frame;
+        }
+    }
+}
@@ -1,21 +1,65 @@
 package com.groupgenius.groupgenius_backend.chat;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String GROUP_DESTINATION_PREFIX = "/ws/group";
+    // Per-session replies (e.g. /user/queue/chat/errors), resolved from the STOMP session
+    private static final String USER_QUEUE_PREFIX = "/queue";
+
+    // "simple" keeps the in-JVM broker (single node); "relay" forwards to an external
+    // STOMP broker so group broadcasts and typing indicators reach every node
+    @Value("${app.chat.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${app.chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // server -> client destinations
-        config.enableSimpleBroker("/ws/group");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay(GROUP_DESTINATION_PREFIX, USER_QUEUE_PREFIX)
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            log.info("Chat broker relay enabled ({}:{})", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker(GROUP_DESTINATION_PREFIX, USER_QUEUE_PREFIX);
+        }
         // client -> server destinations
         config.setApplicationDestinationPrefixes("/ws/app");
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
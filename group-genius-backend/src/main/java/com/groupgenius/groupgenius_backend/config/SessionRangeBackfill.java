@@ -0,0 +1,51 @@
+package com.groupgenius.groupgenius_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code sessions.starts_at} / {@code ends_at} for rows written before the columns
+ * existed (e.g. when Hibernate added them instead of the add_session_range_columns
+ * migration). Runs in small batches so the table is never locked for long; new rows get
+ * the values from {@code Session#syncRange}.
+ */
+@Slf4j
+@Component
+public class SessionRangeBackfill {
+
+    private static final String BACKFILL_SQL = "UPDATE sessions"
+            + " SET starts_at = TIMESTAMP(session_date, start_time),"
+            + " ends_at = DATE_ADD(TIMESTAMP(session_date, end_time), INTERVAL GREATEST(duration_days - 1, 0) DAY)"
+            + " WHERE starts_at IS NULL OR ends_at IS NULL LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sessions.range-backfill.batch-size:1000}")
+    private int batchSize;
+
+    public SessionRangeBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long total = 0;
+        try {
+            int updated;
+            do {
+                updated = jdbcTemplate.update(BACKFILL_SQL, batchSize);
+                total += updated;
+            } while (updated >= batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Session range backfill stopped after {} rows; it resumes on the next start", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Backfilled starts_at/ends_at for {} sessions", total);
+        }
+    }
+}
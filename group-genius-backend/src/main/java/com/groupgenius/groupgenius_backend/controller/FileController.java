@@ -1,20 +1,52 @@
 package com.groupgenius.groupgenius_backend.controller;
 
+import com.groupgenius.groupgenius_backend.storage.LocalStorageBackend;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/files")
 public class FileController {
 
+    // Present only when app.storage.backend=local
+    private final Optional<LocalStorageBackend> localStorage;
+
+    public FileController(Optional<LocalStorageBackend> localStorage) {
+        this.localStorage = localStorage;
+    }
+
     @GetMapping({ "/{filename:.+}", "/view/{filename:.+}", "/download/{filename:.+}" })
-    public ResponseEntity<String> deprecatedEndpoint(@PathVariable String filename) {
-        String message = "Local file serving has been deprecated. Media is now stored in Cloudinary."
-                + " Requested filename: " + filename;
-        return ResponseEntity.status(HttpStatus.GONE).body(message);
+    public ResponseEntity<?> serveFile(@PathVariable String filename) {
+        if (localStorage.isEmpty()) {
+            String message = "Local file serving has been deprecated. Media is now stored in Cloudinary."
+                    + " Requested filename: " + filename;
+            return ResponseEntity.status(HttpStatus.GONE).body(message);
+        }
+
+        Optional<Path> path = localStorage.get().resolve(filename).filter(Files::isRegularFile);
+        if (path.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Streamed from disk by the resource message converter
+        Resource resource = new FileSystemResource(path.get());
+        MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable")
+                .body(resource);
     }
-}
\ No newline at end of file
+}
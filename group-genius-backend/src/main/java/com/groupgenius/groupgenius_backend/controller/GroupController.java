@@ -1,6 +1,7 @@
 package com.groupgenius.groupgenius_backend.controller;
 
 import com.groupgenius.groupgenius_backend.dto.GroupCreateRequest;
+import com.groupgenius.groupgenius_backend.dto.GroupDeletionStatus;
 import com.groupgenius.groupgenius_backend.dto.GroupResponse;
 import com.groupgenius.groupgenius_backend.service.GroupMemberService;
 import com.groupgenius.groupgenius_backend.service.GroupService;
@@ -34,8 +35,14 @@ public class GroupController {
             @RequestParam(required = false, defaultValue = "false") boolean filterByMembership,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt,desc") String sort) {
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(required = false) String cursor) {
         try {
+            // Any cursor parameter (empty for the first page) selects keyset paging: newest first, no total count
+            if (cursor != null) {
+                return ResponseEntity.ok(groupService.searchAfter(courseId, privacy, name, userId,
+                        filterByMembership, cursor, size));
+            }
             Sort sortObj = Sort.by(Sort.Order.desc("createdAt"));
             try {
                 String[] parts = sort.split(",", 2);
@@ -45,6 +52,10 @@ public class GroupController {
             Pageable pageable = PageRequest.of(page, size, sortObj);
             return ResponseEntity
                     .ok(groupService.search(courseId, privacy, name, userId, filterByMembership, pageable));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(java.util.Map.of("timestamp", java.time.OffsetDateTime.now().toString(), "status", 400,
+                            "error", "Bad Request", "path", "/api/groups", "message", ex.getMessage()));
         } catch (Exception ex) {
             log.error("Error while searching groups", ex);
             return ResponseEntity.status(500)
@@ -53,6 +64,13 @@ public class GroupController {
         }
     }
 
+    // Precomputed per user; limit is capped by app.groups.recommendations.top-k
+    @GetMapping("/recommended")
+    public ResponseEntity<?> recommended(@RequestParam Long userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(java.util.Map.of("success", true, "data", groupService.recommend(userId, limit)));
+    }
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody GroupCreateRequest req) {
         return groupService.create(req)
@@ -94,9 +112,11 @@ public class GroupController {
     public ResponseEntity<?> deleteGroup(@PathVariable Long groupId, @RequestParam Long adminId) {
         log.info("Delete group request received - groupId: {}, adminId: {}", groupId, adminId);
         try {
-            groupService.deleteGroup(groupId, adminId);
-            log.info("Group {} successfully deleted by admin {}", groupId, adminId);
-            return ResponseEntity.ok(java.util.Map.of("success", true, "message", "Group deleted successfully"));
+            GroupDeletionStatus deletion = groupService.deleteGroup(groupId, adminId);
+            log.info("Group {} deleted by admin {}; purge job {} queued", groupId, adminId, deletion.getJobId());
+            // The group is gone for readers now; its data is purged in the background
+            return ResponseEntity.accepted().body(java.util.Map.of("success", true, "message",
+                    "Group deleted successfully", "data", deletion));
         } catch (IllegalArgumentException e) {
             log.warn("Delete group failed with validation error: {}", e.getMessage());
             return ResponseEntity.badRequest().body(java.util.Map.of("success", false, "message", e.getMessage()));
@@ -106,4 +126,12 @@ public class GroupController {
                     .body(java.util.Map.of("success", false, "message", "Failed to delete group"));
         }
     }
+
+    @GetMapping("/{groupId}/deletion")
+    public ResponseEntity<?> getDeletionStatus(@PathVariable Long groupId) {
+        return groupService.getDeletionStatus(groupId)
+                .<ResponseEntity<?>>map(status -> ResponseEntity.ok(java.util.Map.of("success", true, "data", status)))
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(java.util.Map.of("success", false, "message", "No deletion found for this group")));
+    }
 }
@@ -1,5 +1,7 @@
 package com.groupgenius.groupgenius_backend.controller;
 
+import com.groupgenius.groupgenius_backend.dto.GroupMemberBatchRequest;
+import com.groupgenius.groupgenius_backend.dto.GroupMemberBatchResponse;
 import com.groupgenius.groupgenius_backend.dto.GroupMemberDto;
 import com.groupgenius.groupgenius_backend.entity.GroupMember;
 import com.groupgenius.groupgenius_backend.service.GroupMemberService;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -40,6 +43,19 @@ public class GroupMemberController {
         return ResponseEntity.ok("Member removed successfully!");
     }
 
+    // Body: { adminId, groupId, userIds: [...] }; answers one outcome per user
+    @PostMapping("/approve/batch")
+    public ResponseEntity<GroupMemberBatchResponse> approveMembers(@RequestBody GroupMemberBatchRequest request) {
+        return ResponseEntity.ok(groupMemberService.approveMembers(request.getAdminId(), request.getGroupId(),
+                request.getUserIds()));
+    }
+
+    @PostMapping("/remove/batch")
+    public ResponseEntity<GroupMemberBatchResponse> removeMembers(@RequestBody GroupMemberBatchRequest request) {
+        return ResponseEntity.ok(groupMemberService.removeMembers(request.getAdminId(), request.getGroupId(),
+                request.getUserIds()));
+    }
+
     @GetMapping("/group/{groupId}")
     public ResponseEntity<List<GroupMemberDto>> getGroupMembers(@PathVariable Long groupId) {
         return ResponseEntity.ok(groupMemberService.getGroupMembers(groupId));
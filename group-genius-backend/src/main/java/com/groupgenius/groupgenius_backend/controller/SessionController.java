@@ -1,12 +1,16 @@
 package com.groupgenius.groupgenius_backend.controller;
 
+import com.groupgenius.groupgenius_backend.dto.SessionOccurrenceDTO;
 import com.groupgenius.groupgenius_backend.dto.SessionRequestDTO;
 import com.groupgenius.groupgenius_backend.dto.SessionResponseDTO;
+import com.groupgenius.groupgenius_backend.service.SessionSeriesService;
 import com.groupgenius.groupgenius_backend.service.SessionService;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,9 +18,11 @@ import java.util.List;
 public class SessionController {
 
     private final SessionService sessionService;
+    private final SessionSeriesService seriesService;
 
-    public SessionController(SessionService sessionService) {
+    public SessionController(SessionService sessionService, SessionSeriesService seriesService) {
         this.sessionService = sessionService;
+        this.seriesService = seriesService;
     }
 
     @PostMapping("/group/{groupId}/creator/{createdById}")
@@ -42,6 +48,15 @@ public class SessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    // Calendar view: one-off sessions plus series occurrences expanded for the window
+    @GetMapping("/group/{groupId}/occurrences")
+    public ResponseEntity<List<SessionOccurrenceDTO>> getGroupOccurrences(
+            @PathVariable Long groupId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(seriesService.getGroupOccurrences(groupId, from, to));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SessionResponseDTO> getSessionById(@PathVariable Long id) {
         SessionResponseDTO session = sessionService.getSessionById(id);
@@ -0,0 +1,47 @@
+package com.groupgenius.groupgenius_backend.controller;
+
+import com.groupgenius.groupgenius_backend.dto.SessionOccurrenceDTO;
+import com.groupgenius.groupgenius_backend.dto.SessionSeriesRequest;
+import com.groupgenius.groupgenius_backend.dto.SessionSeriesResponse;
+import com.groupgenius.groupgenius_backend.service.SessionSeriesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sessions/series")
+public class SessionSeriesController {
+
+    private final SessionSeriesService seriesService;
+
+    public SessionSeriesController(SessionSeriesService seriesService) {
+        this.seriesService = seriesService;
+    }
+
+    @PostMapping("/group/{groupId}/creator/{createdById}")
+    public ResponseEntity<SessionSeriesResponse> createSeries(@PathVariable Long groupId,
+            @PathVariable Long createdById, @RequestBody SessionSeriesRequest request) {
+        return ResponseEntity.ok(seriesService.createSeries(groupId, createdById, request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SessionSeriesResponse> getSeries(@PathVariable Long id) {
+        return ResponseEntity.ok(seriesService.getSeries(id));
+    }
+
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<SessionOccurrenceDTO>> getOccurrences(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(seriesService.getSeriesOccurrences(id, from, to));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSeries(@PathVariable Long id) {
+        seriesService.deleteSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,12 +1,19 @@
 package com.groupgenius.groupgenius_backend.controller;
 
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
 import com.groupgenius.groupgenius_backend.dto.UserDto;
 import com.groupgenius.groupgenius_backend.dto.UserResponse;
+import com.groupgenius.groupgenius_backend.exception.UnauthorizedActionException;
+import com.groupgenius.groupgenius_backend.security.AuthenticatedUser;
 import com.groupgenius.groupgenius_backend.service.ProfileService;
 import com.groupgenius.groupgenius_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +26,9 @@ public class UserController {
 
     private final UserService userService;
     private final ProfileService profileService;
+    private final CalendarFeedService calendarFeedService;
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
 
     @GetMapping("/me")
     public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
@@ -60,4 +70,47 @@ public class UserController {
     public ResponseEntity<UserResponse> updateCourse(@PathVariable Long userId, @PathVariable Long courseId, @RequestParam("active") boolean active) {
         return ResponseEntity.ok(userService.updateCourseStatus(userId, courseId, active));
     }
+
+    /**
+     * iCalendar feed of the signed-in user's sessions for calendar subscriptions. Polls that
+     * send back the last ETag get a 304, straight from memory when the feed is cached;
+     * the ETag is a hash of the content, so a regenerated identical feed still matches.
+     */
+    @GetMapping("/{id}/calendar.ics")
+    public ResponseEntity<byte[]> getCalendarFeed(@PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        // The id comes with the principal, so a cached feed is served without a query of its own
+        if (principal == null || !id.equals(principal.getId())) {
+            throw new UnauthorizedActionException("You can only read your own calendar feed");
+        }
+
+        CalendarFeedService.CachedFeed feed = calendarFeedService.cached(id)
+                .orElseGet(() -> calendarFeedService.generate(id));
+        if (matches(ifNoneMatch, feed.etag())) {
+            calendarFeedService.recordNotModified();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(feed.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(feed.body());
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,15 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of GET /api/groups in cursor mode; pass nextCursor back as ?cursor= for the next page
+@Data
+@Builder
+public class GroupCursorPage {
+    private List<GroupResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
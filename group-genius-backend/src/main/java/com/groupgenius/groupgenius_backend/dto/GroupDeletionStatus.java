@@ -0,0 +1,24 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class GroupDeletionStatus {
+    private Long jobId;
+    private Long groupId;
+    private String groupName;
+    private String status;
+    // Current purge step (see GroupDeletionJob.Phase)
+    private String phase;
+    private Long rowsDeleted;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+    private String lastError;
+    // Failed batches so far and when the next retry may run (null until one fails)
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+}
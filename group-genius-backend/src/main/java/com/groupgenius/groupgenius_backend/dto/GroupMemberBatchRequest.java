@@ -0,0 +1,16 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupMemberBatchRequest {
+
+    private Long adminId;
+    private Long groupId;
+    private List<Long> userIds;
+}
@@ -0,0 +1,31 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupMemberBatchResponse {
+
+    private Long groupId;
+    // Rows changed by the batch
+    private int applied;
+    private List<MemberOutcome> results;
+    // Set when removing the last admin promoted the oldest approved member
+    private Long promotedAdminId;
+
+    public enum Outcome {
+        APPROVED, ALREADY_APPROVED, REMOVED, NOT_MEMBER
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MemberOutcome {
+        private Long userId;
+        private Outcome outcome;
+    }
+}
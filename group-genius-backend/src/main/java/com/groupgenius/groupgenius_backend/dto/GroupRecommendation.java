@@ -0,0 +1,14 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+// One entry of GET /api/groups/recommended; sameCourse and sharedPeers explain the score
+@Data
+@Builder
+public class GroupRecommendation {
+    private GroupResponse group;
+    private double score;
+    private boolean sameCourse;
+    private int sharedPeers;
+}
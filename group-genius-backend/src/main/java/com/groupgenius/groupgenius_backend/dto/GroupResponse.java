@@ -16,4 +16,10 @@ public class GroupResponse {
     private String membershipStatus;
     private String membershipRole;
     private Boolean hasPassword;
+    // Approved members; filled in by search
+    private Long memberCount;
+    // Live activity (see GroupActivityTracker); filled in by search
+    private Long messagesToday;
+    private Integer activeMembers7d;
+    private Integer upcomingSessions;
 }
@@ -0,0 +1,29 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// One meeting in a calendar window: a one-off session (sessionId) or an expanded series occurrence (seriesId)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionOccurrenceDTO {
+    private Long sessionId;
+    private Long seriesId;
+    private Long groupId;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer durationDays;
+    private String meetingLink;
+}
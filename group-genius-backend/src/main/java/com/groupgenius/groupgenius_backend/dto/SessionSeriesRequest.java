@@ -0,0 +1,26 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// A series is group-wide: every approved member gets it, so there is no invitee list
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionSeriesRequest {
+    private String title;
+    private String description;
+    private String meetingLink;
+    private String startDate; // YYYY-MM-DD, first possible occurrence
+    private String startTime; // HH:mm
+    private String endTime; // HH:mm
+    private String frequency; // WEEKLY or BIWEEKLY
+    private List<String> daysOfWeek; // e.g. ["MONDAY", "WEDNESDAY"]
+    private String untilDate; // YYYY-MM-DD; untilDate and/or occurrenceCount is required
+    private Integer occurrenceCount;
+}
@@ -0,0 +1,34 @@
+package com.groupgenius.groupgenius_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionSeriesResponse {
+    private Long id;
+    private Long groupId;
+    private String title;
+    private String description;
+    private String meetingLink;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String frequency;
+    private List<String> daysOfWeek;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate untilDate;
+    private Integer occurrenceCount;
+    private Long createdById;
+    private String createdByName;
+}
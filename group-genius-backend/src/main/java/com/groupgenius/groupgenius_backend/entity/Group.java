@@ -2,13 +2,18 @@ package com.groupgenius.groupgenius_backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "`groups`")
+@Table(name = "`groups`", indexes = {
+        @Index(name = "idx_groups_created_id", columnList = "created_at, id")
+})
+// Tombstoned groups (see GroupDeletionService) are invisible to queries while they are purged
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @Builder
@@ -47,6 +52,9 @@ public class Group {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,102 @@
+package com.groupgenius.groupgenius_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Background purge of a deleted (tombstoned) group. Progress is stored after every
+ * batch, so a restarted node continues from the recorded phase.
+ */
+@Entity
+@Table(name = "group_deletion_jobs", indexes = {
+        @Index(name = "idx_group_deletion_group", columnList = "group_id"),
+        @Index(name = "idx_group_deletion_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id, not a relation: the group row is gone once the job completes
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "group_name")
+    private String groupName;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    @Builder.Default
+    private Phase phase = Phase.SESSION_NOTIFICATIONS;
+
+    @Column(name = "rows_deleted", nullable = false)
+    @Builder.Default
+    private Long rowsDeleted = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Node currently running the job and until when; claimed and renewed by
+    // GroupDeletionService with plain UPDATEs, so never written from the entity
+    @Column(name = "lease_owner", length = 64, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
+
+    // Earliest time a failed job may be claimed again; set with the backoff in GroupDeletionService
+    @Column(name = "next_attempt_at", insertable = false, updatable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Two nodes picking up the same job: the slower batch fails instead of double counting
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        this.requestedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Dependents are purged children first so each DELETE cascades to nothing
+    public enum Phase {
+        SESSION_NOTIFICATIONS,
+        SESSION_INVITATIONS,
+        SESSION_PARTICIPANTS,
+        SESSIONS,
+        SESSION_SERIES,
+        CHAT_MESSAGES,
+        CHAT_DEAD_LETTERS,
+        MEMBERS,
+        GROUP,
+        DONE
+    }
+}
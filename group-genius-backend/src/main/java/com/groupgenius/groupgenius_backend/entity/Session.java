@@ -9,7 +9,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_archived_starts", columnList = "archived, starts_at"),
+        @Index(name = "idx_sessions_group_range", columnList = "group_id, starts_at, ends_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -71,6 +74,20 @@ public class Session {
     @Column
     private LocalDateTime archivedAt;
 
+    // Materialized from sessionDate/startTime/endTime/durationDays so range queries can use an index
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void syncRange() {
+        startsAt = getComputedStartTime();
+        endsAt = getComputedEndTime();
+    }
+
     public LocalDateTime getComputedStartTime() {
         if (sessionDate == null || startTime == null)
             return null;
@@ -0,0 +1,189 @@
+package com.groupgenius.groupgenius_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A recurring session stored as one row: every {@code frequency} week on the days in
+ * {@code daysMask}, from {@code startDate} through {@code endDate}. Occurrences are not
+ * stored; {@link #occurrencesBetween} expands them for whatever window is asked for.
+ */
+@Entity
+@Table(name = "session_series", indexes = {
+        @Index(name = "idx_session_series_group_range", columnList = "group_id, start_date, end_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by", nullable = false)
+    private User createdBy;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(length = 500)
+    private String meetingLink;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+
+    // Bit (dayOfWeek.getValue() - 1) set for every weekday the series meets on
+    @Column(name = "days_mask", nullable = false)
+    private Integer daysMask;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Last possible occurrence, resolved from untilDate / occurrenceCount when the series is saved
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    // As requested; kept for display
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean archived = false;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum Frequency {
+        WEEKLY(1),
+        BIWEEKLY(2);
+
+        private final int intervalWeeks;
+
+        Frequency(int intervalWeeks) {
+            this.intervalWeeks = intervalWeeks;
+        }
+
+        public int getIntervalWeeks() {
+            return intervalWeeks;
+        }
+    }
+
+    public static int maskOf(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> daysOf(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public Set<DayOfWeek> getDays() {
+        return daysMask == null ? EnumSet.noneOf(DayOfWeek.class) : daysOf(daysMask);
+    }
+
+    public boolean meetsOn(DayOfWeek day) {
+        return daysMask != null && (daysMask & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    /**
+     * Dates of the occurrences within {@code [from, to]} (both inclusive). Starts at the
+     * first meeting week at or after {@code from}, so the cost depends on the window,
+     * not on how long the series has been running.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        LocalDate first = from.isAfter(startDate) ? from : startDate;
+        LocalDate last = to.isBefore(endDate) ? to : endDate;
+        List<LocalDate> dates = new ArrayList<>();
+        if (first.isAfter(last) || daysMask == null || daysMask == 0) {
+            return dates;
+        }
+
+        int interval = frequency.getIntervalWeeks();
+        LocalDate anchor = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long week = ChronoUnit.WEEKS.between(anchor, first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        // Skip to the first week the series actually meets in
+        week += (interval - week % interval) % interval;
+
+        for (LocalDate monday = anchor.plusWeeks(week); !monday.isAfter(last); monday = monday.plusWeeks(interval)) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                LocalDate date = monday.plusDays(day.getValue() - 1);
+                if (meetsOn(day) && !date.isBefore(first) && !date.isAfter(last)) {
+                    dates.add(date);
+                }
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Date of the {@code count}-th occurrence of a series starting on {@code startDate},
+     * or {@code null} if it would fall after {@code limit}.
+     */
+    public static LocalDate nthOccurrence(LocalDate startDate, int daysMask, Frequency frequency, int count,
+            LocalDate limit) {
+        int seen = 0;
+        LocalDate monday = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (; !monday.isAfter(limit); monday = monday.plusWeeks(frequency.getIntervalWeeks())) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                LocalDate date = monday.plusDays(day.getValue() - 1);
+                if ((daysMask & (1 << (day.getValue() - 1))) == 0 || date.isBefore(startDate)) {
+                    continue;
+                }
+                if (date.isAfter(limit)) {
+                    return null;
+                }
+                if (++seen == count) {
+                    return date;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.groupgenius.groupgenius_backend.exception;
+
+/**
+ * A retried chat send whose first attempt is still running after the dedup wait. The
+ * first attempt will still store and broadcast the message; the client should retry.
+ */
+public class ChatSendPendingException extends RuntimeException {
+
+    private final String clientMessageId;
+
+    public ChatSendPendingException(String clientMessageId) {
+        super("Message " + clientMessageId + " is still being sent; retry shortly");
+        this.clientMessageId = clientMessageId;
+    }
+
+    public String getClientMessageId() {
+        return clientMessageId;
+    }
+}
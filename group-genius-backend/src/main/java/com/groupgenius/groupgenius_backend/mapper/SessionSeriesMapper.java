@@ -0,0 +1,63 @@
+package com.groupgenius.groupgenius_backend.mapper;
+
+import com.groupgenius.groupgenius_backend.dto.SessionOccurrenceDTO;
+import com.groupgenius.groupgenius_backend.dto.SessionSeriesResponse;
+import com.groupgenius.groupgenius_backend.entity.Session;
+import com.groupgenius.groupgenius_backend.entity.SessionSeries;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+public class SessionSeriesMapper {
+
+    private SessionSeriesMapper() {
+    }
+
+    public static SessionSeriesResponse toResponse(SessionSeries series) {
+        return SessionSeriesResponse.builder()
+                .id(series.getId())
+                .groupId(series.getGroup().getId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .meetingLink(series.getMeetingLink())
+                .startTime(series.getStartTime())
+                .endTime(series.getEndTime())
+                .frequency(series.getFrequency().name())
+                .daysOfWeek(series.getDays().stream().map(DayOfWeek::name).toList())
+                .startDate(series.getStartDate())
+                .endDate(series.getEndDate())
+                .untilDate(series.getUntilDate())
+                .occurrenceCount(series.getOccurrenceCount())
+                .createdById(series.getCreatedBy().getId())
+                .createdByName(series.getCreatedBy().getFirstName())
+                .build();
+    }
+
+    public static SessionOccurrenceDTO toOccurrence(SessionSeries series, LocalDate date) {
+        return SessionOccurrenceDTO.builder()
+                .seriesId(series.getId())
+                .groupId(series.getGroup().getId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .date(date)
+                .startTime(series.getStartTime())
+                .endTime(series.getEndTime())
+                .durationDays(1)
+                .meetingLink(series.getMeetingLink())
+                .build();
+    }
+
+    public static SessionOccurrenceDTO toOccurrence(Session session) {
+        return SessionOccurrenceDTO.builder()
+                .sessionId(session.getId())
+                .groupId(session.getGroup().getId())
+                .title(session.getTitle())
+                .description(session.getDescription())
+                .date(session.getSessionDate())
+                .startTime(session.getStartTime())
+                .endTime(session.getEndTime())
+                .durationDays(session.getDurationDays())
+                .meetingLink(session.getMeetingLink())
+                .build();
+    }
+}
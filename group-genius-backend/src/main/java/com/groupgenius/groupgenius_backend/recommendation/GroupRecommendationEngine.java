@@ -0,0 +1,364 @@
+package com.groupgenius.groupgenius_backend.recommendation;
+
+import com.groupgenius.groupgenius_backend.cache.LongHashSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Precomputed "groups you may like" per user.
+ *
+ * <p>Keeps the enrollment / membership graph in memory (primitive id sets) and scores every
+ * group the user is not in yet: {@code course-weight} if the group belongs to one of the
+ * user's courses, plus {@code peer-weight} per co-member (someone the user already shares a
+ * group with) who is an approved member of it. Only the best {@code top-k} groups are kept
+ * per user.
+ *
+ * <p>Lists are recomputed in the background when one of their inputs changes: the user's
+ * own enrollments or memberships, or a membership change of one of their co-members. New
+ * groups and other users' enrollments reach a list when it is next recomputed; lists older
+ * than {@code max-age-minutes} are recomputed on read.
+ */
+@Slf4j
+@Component
+public class GroupRecommendationEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Graph; guarded by lock
+    private final Map<Long, LongHashSet> userCourses = new HashMap<>();
+    private final Map<Long, LongHashSet> userGroups = new HashMap<>();
+    private final Map<Long, LongHashSet> userPendingGroups = new HashMap<>();
+    private final Map<Long, LongHashSet> groupMembers = new HashMap<>();
+    private final Map<Long, LongHashSet> courseGroups = new HashMap<>();
+    private final Map<Long, Long> groupCourse = new HashMap<>();
+    private volatile boolean loaded;
+
+    private final Map<Long, TopGroups> recommendations = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.groups.recommendations.top-k:20}")
+    private int topK;
+
+    @Value("${app.groups.recommendations.course-weight:5}")
+    private double courseWeight;
+
+    @Value("${app.groups.recommendations.peer-weight:1}")
+    private double peerWeight;
+
+    @Value("${app.groups.recommendations.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    // Co-members marked for recompute per membership change; larger groups rely on max-age
+    @Value("${app.groups.recommendations.max-fanout:5000}")
+    private int maxFanout;
+
+    @Value("${app.groups.recommendations.recompute-batch-size:2000}")
+    private int recomputeBatchSize;
+
+    public GroupRecommendationEngine(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Best groups for the user, highest score first. */
+    public List<Recommendation> recommend(Long userId, int limit) {
+        if (userId == null || limit <= 0) {
+            return List.of();
+        }
+        TopGroups top = recommendations.get(userId);
+        if (top == null || dirtyUsers.contains(userId)
+                || System.currentTimeMillis() - top.computedAt > maxAgeMinutes * 60_000L) {
+            top = recompute(userId);
+        }
+        return top.first(limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            jdbcTemplate.query("SELECT user_id, course_id FROM user_courses",
+                    rs -> {
+                        add(userCourses, rs.getLong(1), rs.getLong(2));
+                    });
+            jdbcTemplate.query("SELECT id, course_id FROM `groups` WHERE deleted_at IS NULL",
+                    rs -> {
+                        long courseId = rs.getLong(2);
+                        putGroup(rs.getLong(1), rs.wasNull() ? null : courseId);
+                    });
+            jdbcTemplate.query("SELECT user_id, group_id, status FROM group_members",
+                    rs -> {
+                        putMembership(rs.getLong(2), rs.getLong(1), "APPROVED".equals(rs.getString(3)));
+                    });
+            loaded = true;
+            log.info("Group recommendation graph loaded: {} users with courses, {} groups, {} users in groups",
+                    userCourses.size(), groupCourse.size(), userGroups.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the group recommendation graph; recommendations stay empty", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onEnrollmentChanged(Long userId, Long courseId, boolean enrolled) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (enrolled) {
+                    add(userCourses, userId, courseId);
+                } else {
+                    remove(userCourses, userId, courseId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            dirtyUsers.add(userId);
+        });
+    }
+
+    /** Membership added or changed; {@code approved} is false for pending requests. */
+    public void onMembershipChanged(Long groupId, Long userId, boolean approved) {
+        afterCommit(() -> membershipChanged(groupId, userId, approved, true));
+    }
+
+    public void onMembershipRemoved(Long groupId, Long userId) {
+        afterCommit(() -> membershipChanged(groupId, userId, false, false));
+    }
+
+    public void onGroupCreated(Long groupId, Long courseId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putGroup(groupId, courseId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void onGroupRemoved(Long groupId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Long courseId = groupCourse.remove(groupId);
+                if (courseId != null) {
+                    remove(courseGroups, courseId, groupId);
+                }
+                LongHashSet members = groupMembers.remove(groupId);
+                if (members != null) {
+                    members.forEach(userId -> {
+                        remove(userGroups, userId, groupId);
+                        dirtyUsers.add(userId);
+                    });
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Lists that still show the group are filtered by the caller until recomputed
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.groups.recommendations.recompute-interval-ms:2000}")
+    public void recomputeDirty() {
+        Iterator<Long> it = dirtyUsers.iterator();
+        for (int i = 0; i < recomputeBatchSize && it.hasNext(); i++) {
+            Long userId = it.next();
+            try {
+                recompute(userId);
+            } catch (RuntimeException e) {
+                log.warn("Could not recompute group recommendations for user {}", userId, e);
+            }
+        }
+    }
+
+    private void membershipChanged(Long groupId, Long userId, boolean approved, boolean present) {
+        List<Long> affected = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            remove(userGroups, userId, groupId);
+            remove(userPendingGroups, userId, groupId);
+            remove(groupMembers, groupId, userId);
+            if (present) {
+                putMembership(groupId, userId, approved);
+            }
+            // Co-members of the user see this group (and the user's other groups) score differently now
+            LongHashSet groups = userGroups.get(userId);
+            if (groups != null) {
+                groups.forEach(g -> addMembers(affected, g));
+            }
+            addMembers(affected, groupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dirtyUsers.add(userId);
+        dirtyUsers.addAll(affected);
+    }
+
+    private void addMembers(List<Long> affected, long groupId) {
+        LongHashSet members = groupMembers.get(groupId);
+        if (members != null && affected.size() < maxFanout) {
+            members.forEach(member -> {
+                if (affected.size() < maxFanout) {
+                    affected.add(member);
+                }
+            });
+        }
+    }
+
+    private TopGroups recompute(Long userId) {
+        // Clear first: a change arriving during the computation marks the user again
+        dirtyUsers.remove(userId);
+        TopGroups top;
+        lock.readLock().lock();
+        try {
+            top = score(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (loaded) {
+            recommendations.put(userId, top);
+        }
+        return top;
+    }
+
+    private TopGroups score(long userId) {
+        LongHashSet joined = new LongHashSet();
+        LongHashSet approvedGroups = userGroups.get(userId);
+        LongHashSet pendingGroups = userPendingGroups.get(userId);
+        if (approvedGroups != null) {
+            approvedGroups.forEach(joined::add);
+        }
+        if (pendingGroups != null) {
+            pendingGroups.forEach(joined::add);
+        }
+
+        Map<Long, Candidate> candidates = new HashMap<>();
+
+        LongHashSet courses = userCourses.get(userId);
+        if (courses != null) {
+            courses.forEach(courseId -> {
+                LongHashSet groups = courseGroups.get(courseId);
+                if (groups != null) {
+                    groups.forEach(groupId -> {
+                        if (!joined.contains(groupId)) {
+                            candidates.computeIfAbsent(groupId, id -> new Candidate()).sameCourse = true;
+                        }
+                    });
+                }
+            });
+        }
+
+        if (approvedGroups != null) {
+            LongHashSet peers = new LongHashSet();
+            approvedGroups.forEach(groupId -> {
+                LongHashSet members = groupMembers.get(groupId);
+                if (members != null) {
+                    members.forEach(peers::add);
+                }
+            });
+            peers.remove(userId);
+            peers.forEach(peerId -> {
+                LongHashSet peerGroups = userGroups.get(peerId);
+                if (peerGroups != null) {
+                    peerGroups.forEach(groupId -> {
+                        if (!joined.contains(groupId)) {
+                            candidates.computeIfAbsent(groupId, id -> new Candidate()).sharedPeers++;
+                        }
+                    });
+                }
+            });
+        }
+
+        // Bounded min-heap: only the best top-k candidates are ever retained
+        PriorityQueue<Recommendation> best = new PriorityQueue<>(Recommendation.ORDER);
+        candidates.forEach((groupId, candidate) -> {
+            double score = (candidate.sameCourse ? courseWeight : 0) + peerWeight * candidate.sharedPeers;
+            best.add(new Recommendation(groupId, score, candidate.sameCourse, candidate.sharedPeers));
+            if (best.size() > topK) {
+                best.poll();
+            }
+        });
+        List<Recommendation> ranked = new ArrayList<>(best);
+        ranked.sort(Recommendation.ORDER.reversed());
+        return new TopGroups(ranked, System.currentTimeMillis());
+    }
+
+    private void putGroup(Long groupId, Long courseId) {
+        if (courseId != null) {
+            groupCourse.put(groupId, courseId);
+            add(courseGroups, courseId, groupId);
+        } else {
+            groupCourse.remove(groupId);
+        }
+    }
+
+    private void putMembership(long groupId, long userId, boolean approved) {
+        if (approved) {
+            add(userGroups, userId, groupId);
+            add(groupMembers, groupId, userId);
+        } else {
+            add(userPendingGroups, userId, groupId);
+        }
+    }
+
+    private static void add(Map<Long, LongHashSet> sets, long key, long value) {
+        sets.computeIfAbsent(key, k -> new LongHashSet()).add(value);
+    }
+
+    private static void remove(Map<Long, LongHashSet> sets, long key, long value) {
+        LongHashSet set = sets.get(key);
+        if (set != null && set.remove(value) && set.isEmpty()) {
+            sets.remove(key);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Candidate {
+        private boolean sameCourse;
+        private int sharedPeers;
+    }
+
+    /** One recommended group and why it was picked. */
+    public record Recommendation(long groupId, double score, boolean sameCourse, int sharedPeers) {
+        // Lower score first; newer (higher id) groups win ties
+        static final Comparator<Recommendation> ORDER = Comparator
+                .comparingDouble(Recommendation::score)
+                .thenComparingLong(Recommendation::groupId);
+    }
+
+    private record TopGroups(List<Recommendation> ranked, long computedAt) {
+        List<Recommendation> first(int limit) {
+            return ranked.size() <= limit ? ranked : ranked.subList(0, limit);
+        }
+    }
+}
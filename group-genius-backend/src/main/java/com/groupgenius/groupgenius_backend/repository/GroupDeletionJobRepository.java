@@ -0,0 +1,15 @@
+package com.groupgenius.groupgenius_backend.repository;
+
+import com.groupgenius.groupgenius_backend.entity.GroupDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface GroupDeletionJobRepository extends JpaRepository<GroupDeletionJob, Long> {
+
+    List<GroupDeletionJob> findByStatusInOrderByIdAsc(Collection<GroupDeletionJob.Status> statuses);
+
+    Optional<GroupDeletionJob> findFirstByGroupIdOrderByIdDesc(Long groupId);
+}
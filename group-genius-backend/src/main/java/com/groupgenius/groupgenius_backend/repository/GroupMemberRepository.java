@@ -3,7 +3,14 @@ package com.groupgenius.groupgenius_backend.repository;
 import com.groupgenius.groupgenius_backend.entity.Group;
 import com.groupgenius.groupgenius_backend.entity.GroupMember;
 import com.groupgenius.groupgenius_backend.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +21,46 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 	List<GroupMember> findByUser(User user);
 
 	long countByGroupAndRole(Group group, GroupMember.Role role);
+
+	@Query("SELECT gm FROM GroupMember gm WHERE gm.user.id = :userId AND gm.group.id IN :groupIds")
+	List<GroupMember> findByUserIdAndGroupIds(@Param("userId") Long userId,
+			@Param("groupIds") Collection<Long> groupIds);
+
+	// Rows of [groupId, approved member count]; groups without approved members are absent
+	@Query("SELECT gm.group.id, COUNT(gm) FROM GroupMember gm WHERE gm.group.id IN :groupIds"
+			+ " AND gm.status = com.groupgenius.groupgenius_backend.entity.GroupMember.Status.APPROVED"
+			+ " GROUP BY gm.group.id")
+	List<Object[]> countApprovedMembersByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+
+	// Rows of [userId, role, status] for one group, for the in-memory membership index
+	@Query("SELECT gm.user.id, gm.role, gm.status FROM GroupMember gm WHERE gm.group.id = :groupId")
+	List<Object[]> findMembershipRowsByGroupId(@Param("groupId") Long groupId);
+
+	Optional<GroupMember> findByUserIdAndGroupId(Long userId, Long groupId);
+
+	// Rows of [userId, role, status] for the given users of one group
+	@Query("SELECT gm.user.id, gm.role, gm.status FROM GroupMember gm"
+			+ " WHERE gm.group.id = :groupId AND gm.user.id IN :userIds")
+	List<Object[]> findMembershipRowsByGroupIdAndUserIds(@Param("groupId") Long groupId,
+			@Param("userIds") Collection<Long> userIds);
+
+	// Same users as above, locked FOR UPDATE until the caller's transaction ends
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT gm FROM GroupMember gm WHERE gm.group.id = :groupId AND gm.user.id IN :userIds")
+	List<GroupMember> lockByGroupIdAndUserIds(@Param("groupId") Long groupId,
+			@Param("userIds") Collection<Long> userIds);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE GroupMember gm SET gm.status = com.groupgenius.groupgenius_backend.entity.GroupMember.Status.APPROVED"
+			+ " WHERE gm.group.id = :groupId AND gm.user.id IN :userIds"
+			+ " AND (gm.status IS NULL OR gm.status <> com.groupgenius.groupgenius_backend.entity.GroupMember.Status.APPROVED)")
+	int approveByGroupIdAndUserIds(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM GroupMember gm WHERE gm.group.id = :groupId AND gm.user.id IN :userIds")
+	int deleteByGroupIdAndUserIds(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+	long countByGroupIdAndRole(Long groupId, GroupMember.Role role);
+
+	Optional<GroupMember> findFirstByGroupIdAndStatusOrderByJoinedAtAsc(Long groupId, GroupMember.Status status);
 }
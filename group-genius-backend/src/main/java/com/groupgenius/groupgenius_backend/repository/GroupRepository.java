@@ -1,12 +1,32 @@
 package com.groupgenius.groupgenius_backend.repository;
 
 import com.groupgenius.groupgenius_backend.entity.Group;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface GroupRepository extends JpaRepository<Group, Long>, JpaSpecificationExecutor<Group> {
+    // Search results always show course and creator; load them with the page (to-one joins keep SQL paging)
+    @Override
+    @EntityGraph(attributePaths = { "course", "createdBy" })
+    Page<Group> findAll(Specification<Group> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "course", "createdBy" })
+    List<Group> findAll(Specification<Group> spec);
+
+    // Rows of [id, groupName, description] in id order, for building the group text index
+    @Query("SELECT g.id, g.groupName, g.description FROM Group g WHERE g.id > :afterId ORDER BY g.id")
+    List<Object[]> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     Optional<Group> findByGroupNameIgnoreCase(String groupName);
     boolean existsByGroupNameIgnoreCase(String groupName);
 }
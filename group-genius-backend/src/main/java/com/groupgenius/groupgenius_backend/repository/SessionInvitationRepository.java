@@ -3,6 +3,7 @@ package com.groupgenius.groupgenius_backend.repository;
 import com.groupgenius.groupgenius_backend.entity.Session;
 import com.groupgenius.groupgenius_backend.entity.SessionInvitation;
 import com.groupgenius.groupgenius_backend.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,13 +17,18 @@ public interface SessionInvitationRepository extends JpaRepository<SessionInvita
 
     List<SessionInvitation> findByUser(User user);
 
-    List<SessionInvitation> findByUserAndStatus(User user, SessionInvitation.Status status);
-
     Optional<SessionInvitation> findBySessionAndUser(Session session, User user);
 
+    // Listings below go through SessionInvitationMapper, which reads the session with its group and
+    // creator; load them in the same statement instead of three lazy loads per invitation
+    @EntityGraph(attributePaths = { "session", "session.group", "session.createdBy" })
+    List<SessionInvitation> findByUserAndStatus(User user, SessionInvitation.Status status);
+
+    @EntityGraph(attributePaths = { "session", "session.group", "session.createdBy" })
     @Query("SELECT si FROM SessionInvitation si WHERE si.user.id = :userId AND si.status = 'PENDING' ORDER BY si.invitedAt DESC")
     List<SessionInvitation> findPendingInvitationsByUserId(@Param("userId") Long userId);
 
+    @EntityGraph(attributePaths = { "session", "session.group", "session.createdBy" })
     @Query("SELECT si FROM SessionInvitation si WHERE si.session.group.id = :groupId AND si.user.id = :userId")
     List<SessionInvitation> findByGroupIdAndUserId(@Param("groupId") Long groupId, @Param("userId") Long userId);
 }
@@ -3,6 +3,7 @@ package com.groupgenius.groupgenius_backend.repository;
 import com.groupgenius.groupgenius_backend.entity.Session;
 import com.groupgenius.groupgenius_backend.entity.Group;
 import com.groupgenius.groupgenius_backend.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -15,10 +16,11 @@ import org.springframework.data.domain.Pageable;
 
 public interface SessionRepository extends JpaRepository<Session, Long>, JpaSpecificationExecutor<Session> {
 
-        // Find overlapping sessions for the same group
+        // Find overlapping active sessions for the same group
         // Overlap: existing_start < new_end AND existing_end > new_start
-        // existing_end = DATE_ADD(s.start_time, INTERVAL s.duration_days DAY)
-        @Query(value = "SELECT * FROM sessions s WHERE s.group_id = :groupId AND (TIMESTAMP(s.session_date, s.start_time) < :endTime AND DATE_ADD(TIMESTAMP(s.session_date, s.end_time), INTERVAL (s.duration_days - 1) DAY) > :startTime)", nativeQuery = true)
+        // Range scan on idx_sessions_group_range (group_id, starts_at, ends_at)
+        @Query("SELECT s FROM Session s WHERE s.group.id = :groupId AND s.archived = false"
+                        + " AND s.startsAt < :endTime AND s.endsAt > :startTime")
         List<Session> findOverlappingSessions(@Param("groupId") Long groupId,
                         @Param("startTime") LocalDateTime startTime,
                         @Param("endTime") LocalDateTime endTime);
@@ -26,7 +28,9 @@ public interface SessionRepository extends JpaRepository<Session, Long>, JpaSpec
         // Find all sessions created by a specific user
         List<Session> findByCreatedBy(User creator);
 
-        // Active (non-archived) sessions created by a specific user
+        // Active (non-archived) sessions created by a specific user, with the group and creator
+        // SessionMapper reads joined in (no per-row lazy loads)
+        @EntityGraph(attributePaths = { "group", "createdBy" })
         List<Session> findByCreatedByAndArchivedFalse(User creator);
 
         // Find all sessions created by a user in a specific group
@@ -38,10 +42,12 @@ public interface SessionRepository extends JpaRepository<Session, Long>, JpaSpec
         List<Session> findByCreatedByAndGroupAndArchivedFalse(@Param("creator") User creator,
                         @Param("group") Group group);
 
-        // Find active sessions for a group (paged)
+        // Find active sessions for a group (paged); to-one joins keep SQL paging
+        @EntityGraph(attributePaths = { "group", "createdBy" })
         Page<Session> findByGroupAndArchivedFalse(Group group, Pageable pageable);
 
-        @Query(value = "SELECT * FROM sessions s WHERE s.archived = false AND TIMESTAMP(s.session_date, s.start_time) BETWEEN :start AND :end", nativeQuery = true)
+        // Range scan on idx_sessions_archived_starts (archived, starts_at)
+        @Query("SELECT s FROM Session s WHERE s.archived = false AND s.startsAt BETWEEN :start AND :end")
         List<Session> findActiveSessionsBetween(@Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 }
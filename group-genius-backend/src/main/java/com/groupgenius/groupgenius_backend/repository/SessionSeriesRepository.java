@@ -0,0 +1,19 @@
+package com.groupgenius.groupgenius_backend.repository;
+
+import com.groupgenius.groupgenius_backend.entity.SessionSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SessionSeriesRepository extends JpaRepository<SessionSeries, Long> {
+
+        // Active series of a group whose date range touches [from, to]
+        @Query("SELECT s FROM SessionSeries s WHERE s.group.id = :groupId AND s.archived = false"
+                        + " AND s.startDate <= :to AND s.endDate >= :from")
+        List<SessionSeries> findActiveByGroupIdBetween(@Param("groupId") Long groupId,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+}
@@ -0,0 +1,307 @@
+package com.groupgenius.groupgenius_backend.search;
+
+import com.groupgenius.groupgenius_backend.repository.GroupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over group name and description, replacing
+ * {@code LIKE '%term%'} scans for group search.
+ *
+ * <p>Trigram posting lists narrow a query down to candidate groups, each of which is then
+ * verified with a plain substring check. Text is compared case- and accent-insensitively
+ * and untrimmed, like the LIKE fallback under utf8mb4_0900_ai_ci, so a search gives the
+ * same groups whichever path GroupService takes.
+ * Candidates are ranked: exact name, name prefix, word in the name, anywhere in the name,
+ * then description; newer groups first within a rank. The index is loaded from the table
+ * on first use, kept in sync by {@code GroupService} on create and delete, and periodically
+ * picks up groups created on other nodes. Deleted groups that linger here are harmless:
+ * the database query that applies the remaining filters drops them.
+ */
+@Slf4j
+@Component
+public class GroupTextIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final GroupRepository groupRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostings> grams = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+    private long maxLoadedId;
+
+    @Value("${app.groups.search.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    public GroupTextIndex(GroupRepository groupRepository) {
+        this.groupRepository = groupRepository;
+    }
+
+    /**
+     * Ids of groups whose name or description contains {@code text} (case-insensitive),
+     * best match first, at most {@code limit} of them.
+     */
+    public List<Long> search(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            List<Ranked> matches = new ArrayList<>();
+            if (query.length() < GRAM) {
+                // Too short for trigrams; a scan of the in-memory strings is still cheap
+                docs.forEach((id, doc) -> addIfMatch(matches, id, doc, query));
+            } else {
+                List<LongPostings> lists = new ArrayList<>();
+                for (String gram : gramsOf(query)) {
+                    LongPostings postings = grams.get(gram);
+                    if (postings == null) {
+                        return List.of();
+                    }
+                    lists.add(postings);
+                }
+                lists.sort(Comparator.comparingInt(LongPostings::size));
+                LongPostings rarest = lists.get(0);
+                for (int i = 0; i < rarest.size(); i++) {
+                    long id = rarest.get(i);
+                    boolean inAll = true;
+                    for (int l = 1; l < lists.size() && inAll; l++) {
+                        inAll = lists.get(l).contains(id);
+                    }
+                    if (inAll) {
+                        addIfMatch(matches, id, docs.get(id), query);
+                    }
+                }
+            }
+
+            matches.sort(Comparator.comparingInt(Ranked::rank)
+                    .thenComparing(Comparator.comparingLong(Ranked::id).reversed()));
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && ids.size() < limit; i++) {
+                ids.add(matches.get(i).id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long id, String name, String description) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Doc doc = new Doc(normalize(name), normalize(description));
+            docs.put(id, doc);
+            Set<String> docGrams = new LinkedHashSet<>(gramsOf(doc.name()));
+            docGrams.addAll(gramsOf(doc.description()));
+            for (String gram : docGrams) {
+                grams.computeIfAbsent(gram, g -> new LongPostings()).add(id);
+            }
+            maxLoadedId = Math.max(maxLoadedId, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Picks up groups created through other nodes since the last load. */
+    @Scheduled(fixedDelayString = "${app.groups.search.refresh-interval-ms:60000}")
+    public void catchUp() {
+        if (!loaded) {
+            return;
+        }
+        long after;
+        lock.readLock().lock();
+        try {
+            after = maxLoadedId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        int added = loadAfter(after);
+        if (added > 0) {
+            log.debug("Group text index picked up {} new groups", added);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            long started = System.nanoTime();
+            int count = loadAfter(0);
+            loaded = true;
+            log.info("Built group text index: {} groups, {} trigrams in {} ms", count, grams.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private int loadAfter(long afterId) {
+        int count = 0;
+        long lastId = afterId;
+        while (true) {
+            List<Object[]> rows = groupRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                lock.readLock().lock();
+                boolean known;
+                try {
+                    known = docs.containsKey(id);
+                } finally {
+                    lock.readLock().unlock();
+                }
+                // Entries written by GroupService while loading are at least as fresh
+                if (!known) {
+                    put(id, (String) row[1], (String) row[2]);
+                }
+                lastId = id;
+            }
+            count += rows.size();
+            if (rows.size() < loadBatchSize) {
+                return count;
+            }
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        Set<String> docGrams = new LinkedHashSet<>(gramsOf(doc.name()));
+        docGrams.addAll(gramsOf(doc.description()));
+        for (String gram : docGrams) {
+            LongPostings postings = grams.get(gram);
+            if (postings != null && postings.remove(id) && postings.size() == 0) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static void addIfMatch(List<Ranked> matches, long id, Doc doc, String query) {
+        if (doc == null) {
+            return;
+        }
+        int rank;
+        if (doc.name().equals(query)) {
+            rank = 0;
+        } else if (doc.name().startsWith(query)) {
+            rank = 1;
+        } else if (doc.name().contains(" " + query)) {
+            rank = 2;
+        } else if (doc.name().contains(query)) {
+            rank = 3;
+        } else if (doc.description().contains(query)) {
+            rank = 4;
+        } else {
+            // Trigram false positive
+            return;
+        }
+        matches.add(new Ranked(id, rank));
+    }
+
+    // Case and accent folding ("Café" -> "cafe"); whitespace is kept, as LIKE keeps it
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> gramsOf(String text) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private record Doc(String name, String description) {
+    }
+
+    private record Ranked(long id, int rank) {
+    }
+
+    /** Sorted, growable list of group ids. */
+    private static final class LongPostings {
+        private long[] ids = new long[2];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            ids[i] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.groupgenius.groupgenius_backend.security;
+
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Principal set by {@link JwtAuthenticationFilter}: the Spring Security user plus the
+ * database id, so controllers can compare the caller with a path id without looking the
+ * email up again.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String email, String password) {
+        super(email, password, Collections.emptyList());
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -8,8 +8,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
@@ -22,10 +20,6 @@ public class CustomUserDetailsService implements UserDetailsService {
         .orElseThrow(() ->
             new UsernameNotFoundException("User not found with email: " + email));
 
-    return org.springframework.security.core.userdetails.User.builder()
-        .username(user.getEmail())
-        .password(user.getPassword())
-        .authorities(Collections.emptyList())
-        .build();
+    return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword());
     }
 }
@@ -5,6 +5,7 @@ import com.groupgenius.groupgenius_backend.dto.LoginResponse;
 import com.groupgenius.groupgenius_backend.dto.UserDto;
 import com.groupgenius.groupgenius_backend.entity.User;
 import com.groupgenius.groupgenius_backend.mapper.UserMapper;
+import com.groupgenius.groupgenius_backend.recommendation.GroupRecommendationEngine;
 import com.groupgenius.groupgenius_backend.repository.CourseRepository;
 import com.groupgenius.groupgenius_backend.repository.UserRepository;
 import com.groupgenius.groupgenius_backend.security.JwtUtil;
@@ -27,6 +28,7 @@ public class AuthService {
     private final FileStorageService fileStorageService;
     private final CourseRepository courseRepository;
     private final EmailService emailService;
+    private final GroupRecommendationEngine recommendationEngine;
 
     public LoginResponse register(UserDto userDto, MultipartFile profileImage) throws IOException {
         // Check if email already exists
@@ -64,6 +66,7 @@ public class AuthService {
         }
 
         userRepository.save(user);
+        user.getCourses().forEach(course -> recommendationEngine.onEnrollmentChanged(user.getId(), course.getId(), true));
 
         // Send welcome email asynchronously
         emailService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
@@ -1,47 +1,39 @@
 package com.groupgenius.groupgenius_backend.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.groupgenius.groupgenius_backend.storage.StorageBackend;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class FileStorageService {
 
-    private final Cloudinary cloudinary;
-
-    @Value("${cloudinary.upload-folder:group-genius}")
-    private String uploadFolder;
+    private final StorageBackend storageBackend;
+    private final MeterRegistry meterRegistry;
 
     public String storeFile(MultipartFile file) throws IOException {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> uploadOptions = (Map<String, Object>) ObjectUtils.asMap(
-                "resource_type", "auto",
-                "folder", uploadFolder,
-                "public_id", generatePublicId(file.getOriginalFilename()));
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> uploadResult = (Map<String, Object>) cloudinary.uploader().upload(file.getBytes(),
-                uploadOptions);
-
-        Object secureUrl = uploadResult.get("secure_url");
-        if (secureUrl instanceof String secureUrlString && !secureUrlString.isBlank()) {
-            return secureUrlString;
-        }
-
-        Object url = uploadResult.get("url");
-        if (url instanceof String urlString && !urlString.isBlank()) {
-            return urlString;
-        }
-
-        throw new IOException("Cloudinary upload did not return a URL");
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // The backend reads the part the container already spooled (never getBytes())
+        String url = storageBackend.store(file, generatePublicId(file.getOriginalFilename()));
+
+        sample.stop(Timer.builder("storage.upload")
+                .tag("backend", storageBackend.name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+        DistributionSummary.builder("storage.upload.bytes")
+                .tag("backend", storageBackend.name())
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(file.getSize());
+        return url;
     }
 
     private String generatePublicId(String originalFilename) {
@@ -53,4 +45,4 @@ public class FileStorageService {
         String sanitized = filename.replaceAll("[^a-zA-Z0-9._-]", "_");
         return System.currentTimeMillis() + "_" + sanitized;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package com.groupgenius.groupgenius_backend.service;
+
+import com.groupgenius.groupgenius_backend.chat.ChatSearchIndex;
+import com.groupgenius.groupgenius_backend.chat.ChatSequenceAllocator;
+import com.groupgenius.groupgenius_backend.chat.RecentMessageCache;
+import com.groupgenius.groupgenius_backend.dto.GroupDeletionStatus;
+import com.groupgenius.groupgenius_backend.entity.Group;
+import com.groupgenius.groupgenius_backend.entity.GroupDeletionJob;
+import com.groupgenius.groupgenius_backend.repository.GroupDeletionJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purges tombstoned groups in the background.
+ *
+ * <p>Each job walks the {@link GroupDeletionJob.Phase}s in order and deletes at most
+ * {@code app.groups.deletion.batch-size} rows per statement, each batch in its own short
+ * transaction together with the job's progress. Deletes are idempotent, so a job
+ * interrupted by a restart simply repeats its current phase on the next run.
+ *
+ * <p>Several nodes poll the same table. A node runs a job only after claiming it with a
+ * lease ({@code lease_owner}, {@code lease_until}) and renews the lease in every batch
+ * transaction; if it stops renewing, another node takes the job over once the lease has
+ * run out. The batches sleep between statements, so this runs on the scheduler pool
+ * ({@code spring.task.scheduling.pool.size}) rather than a single shared thread.
+ *
+ * <p>A failed job is retried with exponential backoff ({@code next_attempt_at}, capped at
+ * an hour) and never abandoned, since a half-purged group stays tombstoned until it
+ * finishes. After {@code MAX_ATTEMPTS} failures it is marked FAILED, which the status
+ * endpoint shows and the {@code groups.deletion.jobs.failed} gauge counts for alerting;
+ * it keeps being retried and returns to RUNNING with its next successful batch.
+ */
+@Slf4j
+@Service
+public class GroupDeletionService {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BASE_SECONDS = 30;
+    private static final long RETRY_MAX_SECONDS = 3600;
+
+    // Free, expired or already ours; taking it over bumps the version so a stale batch of
+    // the previous owner fails its optimistic check
+    private static final String CLAIM_SQL = "UPDATE group_deletion_jobs"
+            + " SET lease_owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP),"
+            + " version = COALESCE(version, 0) + 1"
+            + " WHERE id = ? AND status IN ('PENDING', 'RUNNING', 'FAILED')"
+            + " AND (next_attempt_at IS NULL OR next_attempt_at <= CURRENT_TIMESTAMP)"
+            + " AND (lease_owner IS NULL OR lease_owner = ? OR lease_until < CURRENT_TIMESTAMP)";
+
+    private static final String RENEW_SQL = "UPDATE group_deletion_jobs"
+            + " SET lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)"
+            + " WHERE id = ? AND lease_owner = ?";
+
+    // Gives the job up after a failure and sets when it may be claimed again
+    private static final String BACK_OFF_SQL = "UPDATE group_deletion_jobs"
+            + " SET lease_owner = NULL, lease_until = NULL,"
+            + " next_attempt_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)"
+            + " WHERE id = ? AND lease_owner = ?";
+
+    // Identifies this node's leases
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final GroupDeletionJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecentMessageCache recentMessages;
+    private final ChatSearchIndex chatSearchIndex;
+    private final ChatSequenceAllocator sequenceAllocator;
+    private final Counter failureCounter;
+    // FAILED jobs seen by the last poll
+    private final AtomicInteger failedJobs = new AtomicInteger();
+
+    @Value("${app.groups.deletion.batch-size:1000}")
+    private int batchSize;
+
+    // Gap between batches so user traffic gets the locks in between
+    @Value("${app.groups.deletion.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    @Value("${app.groups.deletion.lease-seconds:60}")
+    private int leaseSeconds;
+
+    public GroupDeletionService(GroupDeletionJobRepository jobRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, RecentMessageCache recentMessages,
+            ChatSearchIndex chatSearchIndex, ChatSequenceAllocator sequenceAllocator, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentMessages = recentMessages;
+        this.chatSearchIndex = chatSearchIndex;
+        this.sequenceAllocator = sequenceAllocator;
+        this.failureCounter = Counter.builder("groups.deletion.failures").register(meterRegistry);
+        meterRegistry.gauge("groups.deletion.jobs.failed", failedJobs);
+    }
+
+    /** Records the purge job; called in the transaction that tombstones the group. */
+    public GroupDeletionJob enqueue(Group group, String originalName, Long requestedBy) {
+        return jobRepository.save(GroupDeletionJob.builder()
+                .groupId(group.getId())
+                .groupName(originalName)
+                .requestedBy(requestedBy)
+                .build());
+    }
+
+    public Optional<GroupDeletionStatus> status(Long groupId) {
+        return jobRepository.findFirstByGroupIdOrderByIdDesc(groupId).map(GroupDeletionService::toStatus);
+    }
+
+    @Scheduled(fixedDelayString = "${app.groups.deletion.poll-interval-ms:5000}")
+    public void runPendingJobs() {
+        List<GroupDeletionJob> jobs = jobRepository.findByStatusInOrderByIdAsc(EnumSet.of(
+                GroupDeletionJob.Status.PENDING, GroupDeletionJob.Status.RUNNING, GroupDeletionJob.Status.FAILED));
+        failedJobs.set((int) jobs.stream().filter(job -> job.getStatus() == GroupDeletionJob.Status.FAILED).count());
+        for (GroupDeletionJob job : jobs) {
+            if (!claim(job.getId())) {
+                continue;
+            }
+            if (!run(job)) {
+                return;
+            }
+        }
+    }
+
+    private boolean claim(Long jobId) {
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, nodeId, leaseSeconds, jobId, nodeId) == 1;
+        } catch (RuntimeException e) {
+            log.warn("Could not claim group deletion job {}", jobId, e);
+            return false;
+        }
+    }
+
+    /** @return false if the worker was interrupted and should stop */
+    private boolean run(GroupDeletionJob job) {
+        Long jobId = job.getId();
+        log.info("Purging group {} (job {}) from phase {}", job.getGroupId(), jobId, job.getPhase());
+        while (job.getPhase() != GroupDeletionJob.Phase.DONE) {
+            try {
+                job = transactionTemplate.execute(tx -> renewLease(jobId)
+                        ? purgeBatch(jobRepository.findById(jobId).orElseThrow())
+                        : null);
+            } catch (OptimisticLockingFailureException e) {
+                // Another node took the job over; that is not a failed attempt
+                log.info("Group deletion job {} was taken over by another node", jobId);
+                return true;
+            } catch (RuntimeException e) {
+                recordFailure(jobId, e);
+                return true;
+            }
+            if (job == null) {
+                log.info("Lease on group deletion job {} expired; another node continues it", jobId);
+                return true;
+            }
+            if (job.getPhase() != GroupDeletionJob.Phase.DONE && !pause()) {
+                return false;
+            }
+        }
+        forgetChatState(job.getGroupId());
+        log.info("Group {} purged (job {}, {} rows)", job.getGroupId(), jobId, job.getRowsDeleted());
+        return true;
+    }
+
+    // First statement of each batch transaction: holds the job row until commit and fails
+    // if another node has claimed the job since
+    private boolean renewLease(Long jobId) {
+        return jdbcTemplate.update(RENEW_SQL, leaseSeconds, jobId, nodeId) == 1;
+    }
+
+    private GroupDeletionJob purgeBatch(GroupDeletionJob job) {
+        Long groupId = job.getGroupId();
+        int deleted = switch (job.getPhase()) {
+            case SESSION_NOTIFICATIONS -> jdbcTemplate.update(
+                    "DELETE FROM notifications WHERE session_id IN (SELECT id FROM sessions WHERE group_id = ?) LIMIT ?",
+                    groupId, batchSize);
+            case SESSION_INVITATIONS -> jdbcTemplate.update(
+                    "DELETE FROM session_invitations WHERE session_id IN (SELECT id FROM sessions WHERE group_id = ?) LIMIT ?",
+                    groupId, batchSize);
+            case SESSION_PARTICIPANTS -> jdbcTemplate.update(
+                    "DELETE FROM session_participants WHERE session_id IN (SELECT id FROM sessions WHERE group_id = ?) LIMIT ?",
+                    groupId, batchSize);
+            case SESSIONS -> jdbcTemplate.update("DELETE FROM sessions WHERE group_id = ? LIMIT ?", groupId, batchSize);
+            case SESSION_SERIES -> jdbcTemplate.update("DELETE FROM session_series WHERE group_id = ? LIMIT ?",
+                    groupId, batchSize);
+            case CHAT_MESSAGES -> jdbcTemplate.update("DELETE FROM chat_messages WHERE group_id = ? LIMIT ?",
+                    groupId, batchSize);
+            case CHAT_DEAD_LETTERS -> jdbcTemplate.update(
+                    "DELETE FROM chat_message_dead_letters WHERE group_id = ? LIMIT ?", groupId, batchSize);
+            case MEMBERS -> jdbcTemplate.update("DELETE FROM group_members WHERE group_id = ? LIMIT ?",
+                    groupId, batchSize);
+            // Anything written after its phase ran (e.g. a late chat message) goes with the FK cascade here
+            case GROUP -> jdbcTemplate.update("DELETE FROM `groups` WHERE id = ?", groupId);
+            case DONE -> 0;
+        };
+
+        job.setStatus(GroupDeletionJob.Status.RUNNING);
+        job.setRowsDeleted(job.getRowsDeleted() + deleted);
+        if (job.getPhase() == GroupDeletionJob.Phase.GROUP || deleted < batchSize) {
+            job.setPhase(GroupDeletionJob.Phase.values()[job.getPhase().ordinal() + 1]);
+        }
+        if (job.getPhase() == GroupDeletionJob.Phase.DONE) {
+            job.setStatus(GroupDeletionJob.Status.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+        }
+        return jobRepository.save(job);
+    }
+
+    private void recordFailure(Long jobId, RuntimeException e) {
+        log.warn("Group deletion job {} failed; will retry", jobId, e);
+        failureCounter.increment();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                int attempts = jobRepository.findById(jobId).map(job -> {
+                    job.setAttempts(job.getAttempts() + 1);
+                    job.setLastError(truncate(e.getMessage()));
+                    if (job.getAttempts() >= MAX_ATTEMPTS && job.getStatus() != GroupDeletionJob.Status.FAILED) {
+                        job.setStatus(GroupDeletionJob.Status.FAILED);
+                        log.error("Group deletion job {} failed {} times; still retrying with backoff",
+                                jobId, job.getAttempts());
+                    }
+                    return job.getAttempts();
+                }).orElse(1);
+                // Let any node retry it once the backoff has passed
+                jdbcTemplate.update(BACK_OFF_SQL, retryDelaySeconds(attempts), jobId, nodeId);
+            });
+        } catch (RuntimeException recordError) {
+            log.warn("Could not record failure of group deletion job {}", jobId, recordError);
+        }
+    }
+
+    // 30s, 60s, 120s, ... up to an hour
+    private static long retryDelaySeconds(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(RETRY_BASE_SECONDS << doublings, RETRY_MAX_SECONDS);
+    }
+
+    private void forgetChatState(Long groupId) {
+        recentMessages.invalidate(groupId);
+        chatSearchIndex.invalidate(groupId);
+        sequenceAllocator.reset(groupId);
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    static GroupDeletionStatus toStatus(GroupDeletionJob job) {
+        return GroupDeletionStatus.builder()
+                .jobId(job.getId())
+                .groupId(job.getGroupId())
+                .groupName(job.getGroupName())
+                .status(job.getStatus().name())
+                .phase(job.getPhase().name())
+                .rowsDeleted(job.getRowsDeleted())
+                .requestedAt(job.getRequestedAt())
+                .completedAt(job.getCompletedAt())
+                .lastError(job.getLastError())
+                .attempts(job.getAttempts())
+                .nextAttemptAt(job.getNextAttemptAt())
+                .build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.activity.GroupActivityTracker;
+import com.groupgenius.groupgenius_backend.cache.GroupMembershipIndex;
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
+import com.groupgenius.groupgenius_backend.dto.GroupMemberBatchResponse;
 import com.groupgenius.groupgenius_backend.dto.GroupMemberDto;
 import com.groupgenius.groupgenius_backend.entity.*;
 import com.groupgenius.groupgenius_backend.exception.*;
 import com.groupgenius.groupgenius_backend.mapper.GroupMemberMapper;
+import com.groupgenius.groupgenius_backend.recommendation.GroupRecommendationEngine;
 import com.groupgenius.groupgenius_backend.repository.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +17,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,10 +30,15 @@ import java.util.stream.Collectors;
 public class GroupMemberService {
 
         private static final Logger log = LoggerFactory.getLogger(GroupMemberService.class);
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
     private final GroupMemberRepository groupMemberRepository;
+    private final GroupMembershipIndex membershipIndex;
+    private final GroupActivityTracker activityTracker;
+    private final GroupRecommendationEngine recommendationEngine;
+    private final CalendarFeedService calendarFeedService;
 
     @Transactional
     public void requestToJoin(Long userId, Long groupId) {
@@ -37,8 +52,9 @@ public class GroupMemberService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new GroupNotFoundException("Group not found"));
 
-        groupMemberRepository.findByUserAndGroup(user, group)
-                .ifPresent(m -> { throw new DuplicateGroupMemberException("User already joined or pending approval"); });
+        if (membershipIndex.isMember(groupId, userId)) {
+            throw new DuplicateGroupMemberException("User already joined or pending approval");
+        }
 
         // Public groups: auto-approve
         if (group.getPrivacyType() == Group.PrivacyType.PUBLIC) {
@@ -49,7 +65,8 @@ public class GroupMemberService {
                     .status(GroupMember.Status.APPROVED)
                     .joinedAt(LocalDateTime.now())
                     .build();
-            groupMemberRepository.save(gm);
+            saveMembership(gm);
+            recordJoin(groupId, userId);
             return;
         }
 
@@ -65,7 +82,7 @@ public class GroupMemberService {
                         .status(GroupMember.Status.PENDING)
                         .joinedAt(LocalDateTime.now())
                         .build();
-                groupMemberRepository.save(pending);
+                saveMembership(pending);
                 return;
             }
 
@@ -82,7 +99,8 @@ public class GroupMemberService {
                     .status(GroupMember.Status.APPROVED)
                     .joinedAt(LocalDateTime.now())
                     .build();
-            groupMemberRepository.save(approved);
+            saveMembership(approved);
+            recordJoin(groupId, userId);
             return;
         }
 
@@ -95,57 +113,40 @@ public class GroupMemberService {
                 .joinedAt(LocalDateTime.now())
                 .build();
 
-        groupMemberRepository.save(groupMember);
+        saveMembership(groupMember);
     }
 
     @Transactional
     public void approveMember(Long adminId, Long userId, Long groupId) {
         log.info("approveMember called by adminId={} for userId={} in groupId={}", adminId, userId, groupId);
-        User admin = userRepository.findById(adminId)
-                .orElseThrow(() -> new IllegalArgumentException("Admin not found"));
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new GroupNotFoundException("Group not found"));
-
-        GroupMember adminMembership = groupMemberRepository.findByUserAndGroup(admin, group)
-                .orElseThrow(() -> new UnauthorizedActionException("You are not part of this group"));
-        if (adminMembership.getRole() != GroupMember.Role.ADMIN) {
-            throw new UnauthorizedActionException("Only admins can approve members");
+        if (!groupRepository.existsById(groupId)) {
+            throw new GroupNotFoundException("Group not found");
         }
+        requireAdmin(adminId, groupId, "Only admins can approve members");
 
-        GroupMember memberToApprove = groupMemberRepository.findByUserAndGroup(
-                        userRepository.findById(userId)
-                                .orElseThrow(() -> new IllegalArgumentException("User not found")),
-                        group)
+        GroupMember memberToApprove = groupMemberRepository.findByUserIdAndGroupId(userId, groupId)
                 .orElseThrow(() -> new GroupMemberNotFoundException("Group member not found"));
 
         memberToApprove.setStatus(GroupMember.Status.APPROVED);
-        groupMemberRepository.save(memberToApprove);
+        saveMembership(memberToApprove);
+        recordJoin(groupId, userId);
         log.info("User {} approved in group {} by admin {}", userId, groupId, adminId);
     }
 
     @Transactional
     public void removeMember(Long adminId, Long userId, Long groupId) {
         log.info("removeMember called by adminId={} for userId={} in groupId={}", adminId, userId, groupId);
-        User admin = userRepository.findById(adminId)
-                .orElseThrow(() -> new IllegalArgumentException("Admin not found"));
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new GroupNotFoundException("Group not found"));
+        requireAdmin(adminId, groupId, "Only admins can remove members");
 
-        GroupMember adminMembership = groupMemberRepository.findByUserAndGroup(admin, group)
-                .orElseThrow(() -> new UnauthorizedActionException("You are not part of this group"));
-        if (adminMembership.getRole() != GroupMember.Role.ADMIN) {
-            throw new UnauthorizedActionException("Only admins can remove members");
-        }
-
-        GroupMember member = groupMemberRepository.findByUserAndGroup(
-                        userRepository.findById(userId)
-                                .orElseThrow(() -> new IllegalArgumentException("User not found")),
-                        group)
+        GroupMember member = groupMemberRepository.findByUserIdAndGroupId(userId, groupId)
                 .orElseThrow(() -> new GroupMemberNotFoundException("Member not found in this group"));
 
                                 // Allow admins to remove any member, including admins.
                                 GroupMember.Role removedRole = member.getRole();
                                 groupMemberRepository.delete(member);
+                                memberRemoved(groupId, userId);
 
                                 // If the removed member was an admin, ensure at least one admin remains.
                                 if (removedRole == GroupMember.Role.ADMIN) {
@@ -159,7 +160,7 @@ public class GroupMemberService {
                                                 if (!remainingMembers.isEmpty()) {
                                                         GroupMember promote = remainingMembers.get(0);
                                                         promote.setRole(GroupMember.Role.ADMIN);
-                                                        groupMemberRepository.save(promote);
+                                                        saveMembership(promote);
                                                         log.info("Promoted user {} to admin in group {} because last admin was removed", promote.getUser().getId(), groupId);
                                                 }
                                         }
@@ -168,14 +169,105 @@ public class GroupMemberService {
                 log.info("User {} removed from group {} by admin {}", userId, groupId, adminId);
     }
 
+    /**
+     * Approves several pending members with one admin check and one UPDATE.
+     */
+    @Transactional
+    public GroupMemberBatchResponse approveMembers(Long adminId, Long groupId, List<Long> userIds) {
+        log.info("approveMembers called by adminId={} for {} users in groupId={}", adminId, sizeOf(userIds), groupId);
+        List<Long> ids = batchIds(userIds);
+        if (!groupRepository.existsById(groupId)) {
+            throw new GroupNotFoundException("Group not found");
+        }
+        requireAdmin(adminId, groupId, "Only admins can approve members");
+
+        Map<Long, Object[]> current = membershipRows(groupId, ids);
+        int applied = groupMemberRepository.approveByGroupIdAndUserIds(groupId, ids);
+
+        List<GroupMemberBatchResponse.MemberOutcome> results = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            Object[] row = current.get(userId);
+            GroupMemberBatchResponse.Outcome outcome;
+            if (row == null) {
+                outcome = GroupMemberBatchResponse.Outcome.NOT_MEMBER;
+            } else if (row[2] == GroupMember.Status.APPROVED) {
+                outcome = GroupMemberBatchResponse.Outcome.ALREADY_APPROVED;
+            } else {
+                outcome = GroupMemberBatchResponse.Outcome.APPROVED;
+                recordJoin(groupId, userId);
+                memberSaved(groupId, userId, (GroupMember.Role) row[1], GroupMember.Status.APPROVED);
+            }
+            results.add(new GroupMemberBatchResponse.MemberOutcome(userId, outcome));
+        }
+
+        log.info("{} users approved in group {} by admin {}", applied, groupId, adminId);
+        return GroupMemberBatchResponse.builder()
+                .groupId(groupId)
+                .applied(applied)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Removes several members with one admin check and one DELETE. If that leaves the
+     * group without an admin, the oldest approved member is promoted (checked once, at the end).
+     */
+    @Transactional
+    public GroupMemberBatchResponse removeMembers(Long adminId, Long groupId, List<Long> userIds) {
+        log.info("removeMembers called by adminId={} for {} users in groupId={}", adminId, sizeOf(userIds), groupId);
+        List<Long> ids = batchIds(userIds);
+        if (!groupRepository.existsById(groupId)) {
+            throw new GroupNotFoundException("Group not found");
+        }
+        requireAdmin(adminId, groupId, "Only admins can remove members");
+
+        Map<Long, Object[]> current = membershipRows(groupId, ids);
+        int applied = groupMemberRepository.deleteByGroupIdAndUserIds(groupId, ids);
+
+        boolean removedAdmin = false;
+        List<GroupMemberBatchResponse.MemberOutcome> results = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            Object[] row = current.get(userId);
+            if (row == null) {
+                results.add(new GroupMemberBatchResponse.MemberOutcome(userId,
+                        GroupMemberBatchResponse.Outcome.NOT_MEMBER));
+                continue;
+            }
+            removedAdmin |= row[1] == GroupMember.Role.ADMIN;
+            memberRemoved(groupId, userId);
+            results.add(new GroupMemberBatchResponse.MemberOutcome(userId, GroupMemberBatchResponse.Outcome.REMOVED));
+        }
+
+        // Same rule as removeMember, evaluated once for the whole batch
+        Long promotedAdminId = null;
+        if (removedAdmin && groupMemberRepository.countByGroupIdAndRole(groupId, GroupMember.Role.ADMIN) == 0) {
+            Optional<GroupMember> oldest = groupMemberRepository
+                    .findFirstByGroupIdAndStatusOrderByJoinedAtAsc(groupId, GroupMember.Status.APPROVED);
+            if (oldest.isPresent()) {
+                GroupMember promote = oldest.get();
+                promote.setRole(GroupMember.Role.ADMIN);
+                saveMembership(promote);
+                promotedAdminId = promote.getUser().getId();
+                log.info("Promoted user {} to admin in group {} because the last admin was removed", promotedAdminId, groupId);
+            }
+        }
+
+        log.info("{} users removed from group {} by admin {}", applied, groupId, adminId);
+        return GroupMemberBatchResponse.builder()
+                .groupId(groupId)
+                .applied(applied)
+                .results(results)
+                .promotedAdminId(promotedAdminId)
+                .build();
+    }
+
             @Transactional
             public void leaveGroup(Long userId, Long groupId) {
-                User user = userRepository.findById(userId)
-                        .orElseThrow(() -> new IllegalArgumentException("User not found"));
-                Group group = groupRepository.findById(groupId)
-                        .orElseThrow(() -> new GroupNotFoundException("Group not found"));
+                if (!groupRepository.existsById(groupId)) {
+                        throw new GroupNotFoundException("Group not found");
+                }
 
-                GroupMember member = groupMemberRepository.findByUserAndGroup(user, group)
+                GroupMember member = groupMemberRepository.findByUserIdAndGroupId(userId, groupId)
                         .orElseThrow(() -> new GroupMemberNotFoundException("Member not found in this group"));
 
                                                 // Prevent admins from leaving the group directly
@@ -184,6 +276,7 @@ public class GroupMemberService {
                                                 }
 
                                                 groupMemberRepository.delete(member);
+                                                memberRemoved(groupId, userId);
                                                 log.info("User {} left group {}", userId, groupId);
             }
 
@@ -200,21 +293,11 @@ public class GroupMemberService {
     @Transactional
     public void changeMemberRole(Long adminId, Long userId, Long groupId, GroupMember.Role newRole) {
         log.info("changeMemberRole called by adminId={} to set userId={} role={} in groupId={}", adminId, userId, newRole, groupId);
-        User admin = userRepository.findById(adminId)
-                .orElseThrow(() -> new IllegalArgumentException("Admin not found"));
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new GroupNotFoundException("Group not found"));
+        requireAdmin(adminId, groupId, "Only admins can change member roles");
 
-        GroupMember adminMembership = groupMemberRepository.findByUserAndGroup(admin, group)
-                .orElseThrow(() -> new UnauthorizedActionException("You are not part of this group"));
-        if (adminMembership.getRole() != GroupMember.Role.ADMIN) {
-            throw new UnauthorizedActionException("Only admins can change member roles");
-        }
-
-        GroupMember member = groupMemberRepository.findByUserAndGroup(
-                        userRepository.findById(userId)
-                                .orElseThrow(() -> new IllegalArgumentException("User not found")),
-                        group)
+        GroupMember member = groupMemberRepository.findByUserIdAndGroupId(userId, groupId)
                 .orElseThrow(() -> new GroupMemberNotFoundException("Member not found in this group"));
 
         // Prevent demoting the only admin (ensure at least one admin remains)
@@ -226,7 +309,7 @@ public class GroupMemberService {
         }
 
         member.setRole(newRole);
-        groupMemberRepository.save(member);
+        saveMembership(member);
         log.info("User {} role changed to {} in group {} by admin {}", userId, newRole, groupId, adminId);
     }
 
@@ -234,7 +317,7 @@ public class GroupMemberService {
         public void addAdminMember(Group group) {
         User admin = group.getCreatedBy();
 
-        if (groupMemberRepository.findByUserAndGroup(admin, group).isEmpty()) {
+        if (!membershipIndex.isMember(group.getId(), admin.getId())) {
             GroupMember adminMembership = GroupMember.builder()
                     .user(admin)
                     .group(group)
@@ -243,7 +326,73 @@ public class GroupMemberService {
                     .joinedAt(LocalDateTime.now())
                     .build();
 
-            groupMemberRepository.save(adminMembership);
+            saveMembership(adminMembership);
+        }
+    }
+
+    private List<Long> batchIds(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("userIds must not be empty");
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " users per batch");
+        }
+        return ids;
+    }
+
+    private static int sizeOf(List<Long> userIds) {
+        return userIds == null ? 0 : userIds.size();
+    }
+
+    // userId -> [userId, role, status] as stored before the batch runs. The rows are locked
+    // until the transaction ends, so a concurrent approve/remove/role change of the same members
+    // waits instead of making the reported outcomes (and the admin re-check) stale.
+    private Map<Long, Object[]> membershipRows(Long groupId, List<Long> userIds) {
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (GroupMember member : groupMemberRepository.lockByGroupIdAndUserIds(groupId, userIds)) {
+            Long userId = member.getUser().getId();
+            rows.put(userId, new Object[] { userId, member.getRole(), member.getStatus() });
         }
+        return rows;
+    }
+
+    // Approve, remove and role changes are authorized against the database, not the membership
+    // index: the index is per node and can keep a demoted or removed admin until its TTL runs out.
+    // Only the [userId, role, status] row is read; no User/Group loads needed.
+    private void requireAdmin(Long adminId, Long groupId, String deniedMessage) {
+        List<Object[]> rows = adminId == null ? List.of()
+                : groupMemberRepository.findMembershipRowsByGroupIdAndUserIds(groupId, List.of(adminId));
+        if (rows.isEmpty()) {
+            throw new UnauthorizedActionException("You are not part of this group");
+        }
+        if (rows.get(0)[1] != GroupMember.Role.ADMIN || rows.get(0)[2] != GroupMember.Status.APPROVED) {
+            throw new UnauthorizedActionException(deniedMessage);
+        }
+    }
+
+    private GroupMember saveMembership(GroupMember membership) {
+        GroupMember saved = groupMemberRepository.save(membership);
+        memberSaved(saved.getGroup().getId(), saved.getUser().getId(), saved.getRole(), saved.getStatus());
+        return saved;
+    }
+
+    // Every membership change goes through these two so the in-memory views stay in step
+    private void memberSaved(Long groupId, Long userId, GroupMember.Role role, GroupMember.Status status) {
+        membershipIndex.onMemberSaved(groupId, userId, role, status);
+        recommendationEngine.onMembershipChanged(groupId, userId, status == GroupMember.Status.APPROVED);
+        // The group's session series show up in (or drop out of) the user's calendar feed
+        calendarFeedService.invalidateUser(userId);
+    }
+
+    private void memberRemoved(Long groupId, Long userId) {
+        membershipIndex.onMemberRemoved(groupId, userId);
+        recommendationEngine.onMembershipRemoved(groupId, userId);
+        calendarFeedService.invalidateUser(userId);
+    }
+
+    // Joining (or being approved) counts as activity in the group
+    private void recordJoin(Long groupId, Long userId) {
+        activityTracker.recordActiveMember(groupId, userId);
     }
 }
@@ -1,59 +1,281 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.activity.GroupActivityStats;
+import com.groupgenius.groupgenius_backend.activity.GroupActivityTracker;
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
+import com.groupgenius.groupgenius_backend.cache.GroupMembershipIndex;
 import com.groupgenius.groupgenius_backend.dto.GroupCreateRequest;
+import com.groupgenius.groupgenius_backend.dto.GroupCursorPage;
+import com.groupgenius.groupgenius_backend.dto.GroupDeletionStatus;
+import com.groupgenius.groupgenius_backend.dto.GroupRecommendation;
 import com.groupgenius.groupgenius_backend.dto.GroupResponse;
 import com.groupgenius.groupgenius_backend.entity.Course;
 import com.groupgenius.groupgenius_backend.entity.Group;
+import com.groupgenius.groupgenius_backend.entity.GroupDeletionJob;
 import com.groupgenius.groupgenius_backend.entity.GroupMember;
 import com.groupgenius.groupgenius_backend.entity.User;
+import com.groupgenius.groupgenius_backend.recommendation.GroupRecommendationEngine;
 import com.groupgenius.groupgenius_backend.repository.CourseRepository;
 import com.groupgenius.groupgenius_backend.repository.GroupRepository;
 import com.groupgenius.groupgenius_backend.repository.GroupMemberRepository;
 import com.groupgenius.groupgenius_backend.repository.UserRepository;
+import com.groupgenius.groupgenius_backend.search.GroupTextIndex;
 import com.groupgenius.groupgenius_backend.specification.GroupSpecifications;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class GroupService {
     private static final Logger log = LoggerFactory.getLogger(GroupService.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final CourseRepository courseRepository;
     private final GroupMemberService groupMemberService;
+    private final GroupTextIndex groupTextIndex;
+    private final GroupMembershipIndex membershipIndex;
+    private final GroupDeletionService groupDeletionService;
+    private final GroupActivityTracker activityTracker;
+    private final GroupRecommendationEngine recommendationEngine;
+    private final CalendarFeedService calendarFeedService;
+
+    @Value("${app.groups.search.index-enabled:true}")
+    private boolean textIndexEnabled;
+
+    // Largest list of text-match ids handed to the database in one IN condition
+    @Value("${app.groups.search.max-candidates:2000}")
+    private int maxTextCandidates;
 
     public GroupService(GroupRepository groupRepository, UserRepository userRepository,
             GroupMemberRepository groupMemberRepository, CourseRepository courseRepository,
-            GroupMemberService groupMemberService) {
+            GroupMemberService groupMemberService, GroupTextIndex groupTextIndex,
+            GroupMembershipIndex membershipIndex, GroupDeletionService groupDeletionService,
+            GroupActivityTracker activityTracker, GroupRecommendationEngine recommendationEngine,
+            CalendarFeedService calendarFeedService) {
         this.groupRepository = groupRepository;
         this.userRepository = userRepository;
         this.groupMemberRepository = groupMemberRepository;
         this.courseRepository = courseRepository;
         this.groupMemberService = groupMemberService;
+        this.groupTextIndex = groupTextIndex;
+        this.membershipIndex = membershipIndex;
+        this.groupDeletionService = groupDeletionService;
+        this.activityTracker = activityTracker;
+        this.recommendationEngine = recommendationEngine;
+        this.calendarFeedService = calendarFeedService;
     }
 
     public Page<GroupResponse> search(Long courseId, String privacy, String name, Long userId,
             boolean filterByMembership, Pageable pageable) {
-        User currentUser = null;
-        if (userId != null) {
-            currentUser = userRepository.findById(userId).orElse(null);
+        // Only filter by userId if filterByMembership is true
+        Long filterUserId = filterByMembership ? userId : null;
+
+        // "relevance" is not a column; it orders text matches by their index rank
+        boolean byRelevance = pageable.getSort().getOrderFor("relevance") != null;
+        if (byRelevance) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Order.desc("createdAt")));
         }
 
-        final User resolvedUser = currentUser;
+        Page<Group> page;
+        List<Long> matches = textMatches(name);
+        if (matches != null && byRelevance) {
+            page = pageByRank(GroupSpecifications.filter(courseId, privacy, null, filterUserId), matches, pageable);
+        } else {
+            Specification<Group> spec = searchSpec(courseId, privacy, name, filterUserId, matches);
+            // Course and creator are fetched with the page (see GroupRepository#findAll)
+            page = groupRepository.findAll(spec, pageable);
+        }
+        return toResponses(page, userId);
+    }
 
-        // Only filter by userId if filterByMembership is true
+    /**
+     * Cursor mode of {@link #search}: newest groups first, continuing after the group the
+     * cursor points at. Uses a keyset condition on (createdAt, id) instead of OFFSET and
+     * runs no count query; {@code hasMore} comes from reading one row past the page.
+     */
+    public GroupCursorPage searchAfter(Long courseId, String privacy, String name, Long userId,
+            boolean filterByMembership, String cursor, int size) {
         Long filterUserId = filterByMembership ? userId : null;
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        Specification<Group> spec = searchSpec(courseId, privacy, name, filterUserId, textMatches(name));
+        if (StringUtils.hasText(cursor)) {
+            GroupCursor after = GroupCursor.decode(cursor);
+            spec = spec.and(GroupSpecifications.createdBefore(after.createdAt(), after.id()));
+        }
+
+        List<Group> rows = groupRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                .project("course", "createdBy")
+                .limit(limit + 1)
+                .all());
+
+        boolean hasMore = rows.size() > limit;
+        List<Group> groups = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? GroupCursor.of(groups.get(groups.size() - 1)).encode() : null;
+
+        return GroupCursorPage.builder()
+                .items(toResponses(groups, userId))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Groups the user is not in yet, best first, from the precomputed lists of
+     * {@link GroupRecommendationEngine}. Only the listed groups are loaded.
+     */
+    public List<GroupRecommendation> recommend(Long userId, int limit) {
+        List<GroupRecommendationEngine.Recommendation> ranked = recommendationEngine.recommend(userId, limit);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Group> groups = new HashMap<>();
+        // Deleted groups are filtered out here until the lists are recomputed
+        for (Group group : groupRepository.findAll(GroupSpecifications.idIn(
+                ranked.stream().map(GroupRecommendationEngine.Recommendation::groupId).toList()))) {
+            groups.put(group.getId(), group);
+        }
+        List<Group> ordered = new ArrayList<>(groups.size());
+        List<GroupRecommendationEngine.Recommendation> kept = new ArrayList<>(groups.size());
+        for (GroupRecommendationEngine.Recommendation recommendation : ranked) {
+            Group group = groups.get(recommendation.groupId());
+            if (group != null) {
+                ordered.add(group);
+                kept.add(recommendation);
+            }
+        }
+
+        List<GroupResponse> responses = toResponses(ordered, userId);
+        List<GroupRecommendation> result = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            GroupRecommendationEngine.Recommendation recommendation = kept.get(i);
+            result.add(GroupRecommendation.builder()
+                    .group(responses.get(i))
+                    .score(recommendation.score())
+                    .sameCourse(recommendation.sameCourse())
+                    .sharedPeers(recommendation.sharedPeers())
+                    .build());
+        }
+        return result;
+    }
+
+    // All text matches from the in-memory index, most relevant first; null when the index is not used.
+    // Never truncated: the course, privacy and membership filters still have to run on every match.
+    private List<Long> textMatches(String name) {
+        if (textIndexEnabled && StringUtils.hasText(name)) {
+            return groupTextIndex.search(name, Integer.MAX_VALUE);
+        }
+        return null;
+    }
+
+    private Specification<Group> searchSpec(Long courseId, String privacy, String name, Long filterUserId,
+            List<Long> matches) {
+        if (matches == null || matches.size() > maxTextCandidates) {
+            // Too many matches for one id list: the database matches the text itself (same
+            // case-insensitive contains as the index), so nothing is cut off
+            return GroupSpecifications.filter(courseId, privacy, name, filterUserId);
+        }
+        // Text match comes from the in-memory index; the database applies the other filters
+        return GroupSpecifications.filter(courseId, privacy, null, filterUserId)
+                .and(GroupSpecifications.idIn(matches));
+    }
+
+    /**
+     * Relevance order: walks the ranked matches in chunks of at most max-candidates ids,
+     * lets the database apply the other filters to each chunk, and keeps the rows that fall
+     * on the requested page. Once the page is full, later chunks are only counted.
+     */
+    private Page<Group> pageByRank(Specification<Group> filters, List<Long> rankedIds, Pageable pageable) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+
+        int chunkSize = Math.max(1, maxTextCandidates);
+        List<Group> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        long total = 0;
+        for (int from = 0; from < rankedIds.size(); from += chunkSize) {
+            Specification<Group> chunk = filters.and(GroupSpecifications.idIn(
+                    rankedIds.subList(from, Math.min(from + chunkSize, rankedIds.size()))));
+            if (content.size() >= pageable.getPageSize()) {
+                total += groupRepository.count(chunk);
+                continue;
+            }
+            List<Group> matching = new ArrayList<>(groupRepository.findAll(chunk));
+            matching.sort(Comparator.comparingInt(g -> rank.getOrDefault(g.getId(), Integer.MAX_VALUE)));
+            total += matching.size();
+            for (Group group : matching) {
+                if (skip > 0) {
+                    skip--;
+                } else if (content.size() < pageable.getPageSize()) {
+                    content.add(group);
+                }
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
 
-        return groupRepository.findAll(GroupSpecifications.filter(courseId, privacy, name, filterUserId), pageable)
-                .map(group -> toDto(group, resolvedUser));
+    private Page<GroupResponse> toResponses(Page<Group> page, Long userId) {
+        return new PageImpl<>(toResponses(page.getContent(), userId), page.getPageable(), page.getTotalElements());
+    }
+
+    private List<GroupResponse> toResponses(List<Group> groups, Long userId) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        List<Long> groupIds = groups.stream().map(Group::getId).toList();
+
+        // One query for the caller's memberships across the whole page
+        Map<Long, GroupMember> memberships = userId == null
+                ? null
+                : groupMemberRepository.findByUserIdAndGroupIds(userId, groupIds).stream()
+                        .collect(Collectors.toMap(m -> m.getGroup().getId(), m -> m));
+
+        // One aggregate query for member counts
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (Object[] row : groupMemberRepository.countApprovedMembersByGroupIds(groupIds)) {
+            memberCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        return groups.stream().map(group -> {
+            GroupMember membership = memberships == null ? null : memberships.get(group.getId());
+            String membershipStatus = memberships == null ? null : membershipStatus(membership);
+            GroupResponse response = toDto(group, membershipStatus, membership,
+                    memberCounts.getOrDefault(group.getId(), 0L));
+            // Served from memory; no per-card COUNT queries
+            GroupActivityStats activity = activityTracker.stats(group.getId());
+            response.setMessagesToday(activity.messagesToday());
+            response.setActiveMembers7d(activity.activeMembers7d());
+            response.setUpcomingSessions(activity.upcomingSessions());
+            return response;
+        }).toList();
     }
 
     public Optional<GroupResponse> create(GroupCreateRequest req) {
@@ -81,6 +303,9 @@ public class GroupService {
 
         Group group = groupBuilder.build();
         Group savedGroup = groupRepository.save(group);
+        groupTextIndex.put(savedGroup.getId(), savedGroup.getGroupName(), savedGroup.getDescription());
+        recommendationEngine.onGroupCreated(savedGroup.getId(),
+                savedGroup.getCourse() != null ? savedGroup.getCourse().getId() : null);
 
         groupMemberService.addAdminMember(savedGroup);
 
@@ -103,6 +328,8 @@ public class GroupService {
                 .build();
 
         Group savedGroup = groupRepository.save(group);
+        groupTextIndex.put(savedGroup.getId(), savedGroup.getGroupName(), savedGroup.getDescription());
+        recommendationEngine.onGroupCreated(savedGroup.getId(), null);
         groupMemberService.addAdminMember(savedGroup);
         return savedGroup;
     }
@@ -111,8 +338,12 @@ public class GroupService {
         return groupRepository.findAll();
     }
 
+    /**
+     * Tombstones the group and queues the purge of its members, sessions and chat
+     * history; the rows are removed in the background by {@link GroupDeletionService}.
+     */
     @Transactional
-    public void deleteGroup(Long groupId, Long adminId) {
+    public GroupDeletionStatus deleteGroup(Long groupId, Long adminId) {
         log.info("Attempting to delete group {} by admin {}", groupId, adminId);
 
         Group group = groupRepository.findById(groupId)
@@ -126,29 +357,46 @@ public class GroupService {
             throw new IllegalArgumentException("Only the group creator can delete this group");
         }
 
-        log.info("Deleting group {} and all associated members", groupId);
-        groupRepository.delete(group);
-        log.info("Group {} successfully deleted", groupId);
+        String originalName = group.getGroupName();
+        group.setDeletedAt(LocalDateTime.now());
+        // Frees the unique name right away; the row itself lives until the purge finishes
+        group.setGroupName("__deleted_" + groupId);
+        groupRepository.save(group);
+        GroupDeletionJob job = groupDeletionService.enqueue(group, originalName, adminId);
+
+        membershipIndex.invalidate(groupId);
+        recommendationEngine.onGroupRemoved(groupId);
+        calendarFeedService.invalidateGroup(groupId);
+        // Drop it from the text index once the tombstone is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                groupTextIndex.remove(groupId);
+            }
+        });
+        log.info("Group {} tombstoned; purge queued as job {}", groupId, job.getId());
+        return GroupDeletionService.toStatus(job);
+    }
+
+    public Optional<GroupDeletionStatus> getDeletionStatus(Long groupId) {
+        return groupDeletionService.status(groupId);
     }
 
     private GroupResponse toDto(Group group) {
-        return toDto(group, null);
+        return toDto(group, null, null, null);
     }
 
-    private GroupResponse toDto(Group group, User currentUser) {
-        String membershipStatus = null;
-        String membershipRole = null;
-
-        if (currentUser != null) {
-            Optional<GroupMember> membership = groupMemberRepository.findByUserAndGroup(currentUser, group);
-            if (membership.isPresent()) {
-                GroupMember member = membership.get();
-                membershipStatus = member.getStatus() != null ? member.getStatus().name() : null;
-                membershipRole = member.getRole() != null ? member.getRole().name() : null;
-            } else {
-                membershipStatus = "NOT_MEMBER";
-            }
+    private static String membershipStatus(GroupMember membership) {
+        if (membership == null) {
+            return "NOT_MEMBER";
         }
+        return membership.getStatus() != null ? membership.getStatus().name() : null;
+    }
+
+    private GroupResponse toDto(Group group, String membershipStatus, GroupMember membership, Long memberCount) {
+        String membershipRole = membership != null && membership.getRole() != null
+                ? membership.getRole().name()
+                : null;
 
         boolean hasPassword = group.getGroupPassword() != null && !group.getGroupPassword().isEmpty();
 
@@ -163,6 +411,31 @@ public class GroupService {
                 .membershipStatus(membershipStatus)
                 .membershipRole(membershipRole)
                 .hasPassword(hasPassword)
+                .memberCount(memberCount)
                 .build();
     }
+
+    /** Position of the last group on a cursor page; travels as an opaque base64url token. */
+    private record GroupCursor(LocalDateTime createdAt, Long id) {
+
+        static GroupCursor of(Group group) {
+            return new GroupCursor(group.getCreatedAt(), group.getId());
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static GroupCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new GroupCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                        Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.chat.SenderProfileCache;
 import com.groupgenius.groupgenius_backend.dto.UserDto;
 import com.groupgenius.groupgenius_backend.dto.UserResponse;
 import com.groupgenius.groupgenius_backend.entity.User;
@@ -20,6 +21,7 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
     private final PasswordEncoder passwordEncoder;
+    private final SenderProfileCache senderProfileCache;
 
     public UserResponse getProfile(Long id) {
         User user = userRepository.findById(id)
@@ -50,6 +52,7 @@ public class ProfileService {
         user.setBio(updateRequest.getBio()); // Add this line
 
         User savedUser = userRepository.save(user);
+        senderProfileCache.invalidate(id);
         return UserMapper.toResponse(savedUser);
     }
 
@@ -59,6 +62,7 @@ public class ProfileService {
             throw new IllegalArgumentException("User not found");
         }
         userRepository.deleteById(id);
+        senderProfileCache.invalidate(id);
     }
 
     @Transactional
@@ -69,6 +73,7 @@ public class ProfileService {
         String imageUrl = fileStorageService.storeFile(avatar);
         user.setProfileImageUrl(imageUrl);
         User saved = userRepository.save(user);
+        senderProfileCache.invalidate(id);
         return UserMapper.toResponse(saved);
     }
 }
@@ -0,0 +1,235 @@
+package com.groupgenius.groupgenius_backend.service;
+
+import com.groupgenius.groupgenius_backend.activity.GroupActivityTracker;
+import com.groupgenius.groupgenius_backend.entity.Session;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Archives sessions that ended more than {@code app.sessions.archive.retention-days} ago,
+ * so listings filtering on {@code archived = false} only see the current working set.
+ *
+ * <p>Each run walks active sessions in {@code (starts_at, id)} order over
+ * idx_sessions_archived_starts and flags at most {@code app.sessions.archive.batch-size}
+ * rows per UPDATE. The position reached is kept as a checkpoint in
+ * {@code session_archive_checkpoint}, so the next run (after a restart, or on another
+ * node) starts where this one stopped instead of rescanning. It only moves back for
+ * sessions that started before it but have not ended yet (multi-day sessions) and for
+ * sessions saved with an earlier start. Runs use the scheduler pool
+ * ({@code spring.task.scheduling.pool.size}), so the pauses between batches do not hold
+ * up the other scheduled jobs.
+ */
+@Slf4j
+@Service
+public class SessionArchivalService {
+
+    private static final String SELECT_SQL = "SELECT id, group_id, starts_at, ends_at FROM sessions"
+            + " WHERE archived = false AND starts_at < ?"
+            + " AND (starts_at > ? OR (starts_at = ? AND id > ?))"
+            + " ORDER BY starts_at, id LIMIT ?";
+
+    private static final String INIT_CHECKPOINT_SQL = "INSERT IGNORE INTO session_archive_checkpoint"
+            + " (id, starts_at, session_id) VALUES (1, ?, 0)";
+
+    private static final String CHECKPOINT_SQL = "SELECT starts_at, session_id FROM session_archive_checkpoint"
+            + " WHERE id = 1";
+
+    // Only if nothing moved the checkpoint back since the run read it
+    private static final String ADVANCE_SQL = "UPDATE session_archive_checkpoint SET starts_at = ?, session_id = ?"
+            + " WHERE id = 1 AND starts_at = ? AND session_id = ?";
+
+    // Only ever moves the checkpoint back
+    private static final String REWIND_SQL = "UPDATE session_archive_checkpoint SET starts_at = ?, session_id = ?"
+            + " WHERE id = 1 AND (starts_at > ? OR (starts_at = ? AND session_id > ?))";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, i) -> new Row(rs.getLong(1), rs.getLong(2),
+            rs.getObject(3, LocalDateTime.class), rs.getObject(4, LocalDateTime.class));
+
+    // Start of the keyset scan when there is no checkpoint yet
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupActivityTracker activityTracker;
+    private final Counter archivedCounter;
+    private final DistributionSummary runSummary;
+
+    @Value("${app.sessions.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.sessions.archive.batch-size:500}")
+    private int batchSize;
+
+    // Gap between batches so user traffic gets the locks in between
+    @Value("${app.sessions.archive.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    public SessionArchivalService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            GroupActivityTracker activityTracker, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.activityTracker = activityTracker;
+        this.archivedCounter = Counter.builder("sessions.archived").register(meterRegistry);
+        this.runSummary = DistributionSummary.builder("sessions.archive.run.rows")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    /** A session was created or rescheduled; make sure the scan has not already passed it. */
+    public void onSessionSaved(Session session) {
+        LocalDateTime startsAt = session.getStartsAt();
+        if (startsAt == null || Boolean.TRUE.equals(session.getArchived())) {
+            return;
+        }
+        // The checkpoint never passes the cutoff of the run that set it, so later starts are ahead of it
+        if (!startsAt.isBefore(LocalDateTime.now().minusDays(retentionDays))) {
+            return;
+        }
+        rewindTo(startsAt, session.getId());
+    }
+
+    @Scheduled(initialDelayString = "${app.sessions.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${app.sessions.archive.interval-ms:3600000}")
+    public void archiveEndedSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Checkpoint checkpoint;
+        try {
+            checkpoint = readCheckpoint();
+        } catch (RuntimeException e) {
+            log.warn("Could not read the session archival checkpoint; skipping this run", e);
+            return;
+        }
+        LocalDateTime scanStart = checkpoint.startsAt();
+        long scanId = checkpoint.sessionId();
+
+        long archived = 0;
+        // Earliest row seen this run that could not be archived yet; the next run resumes before it
+        Row firstSkipped = null;
+        try {
+            List<Row> rows;
+            do {
+                rows = nextBatch(cutoff, scanStart, scanId);
+                List<Row> ended = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    if (row.endsAt() != null && row.endsAt().isBefore(cutoff)) {
+                        ended.add(row);
+                    } else if (firstSkipped == null) {
+                        firstSkipped = row;
+                    }
+                }
+                archived += archive(ended, cutoff);
+                if (!rows.isEmpty()) {
+                    Row last = rows.get(rows.size() - 1);
+                    scanStart = last.startsAt();
+                    scanId = last.id();
+                }
+            } while (rows.size() >= batchSize && pause());
+        } catch (RuntimeException e) {
+            log.warn("Session archival stopped after {} rows; it resumes on the next run", archived, e);
+        }
+
+        LocalDateTime reachedStart = scanStart;
+        long reachedId = scanId;
+        Row skipped = firstSkipped;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                // A rewind during the run already points below where this run started
+                jdbcTemplate.update(ADVANCE_SQL, Timestamp.valueOf(reachedStart), reachedId,
+                        Timestamp.valueOf(checkpoint.startsAt()), checkpoint.sessionId());
+                if (skipped != null) {
+                    rewindTo(skipped.startsAt(), skipped.id());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not store the session archival checkpoint; the next run repeats this one", e);
+        }
+
+        runSummary.record(archived);
+        if (archived > 0) {
+            log.info("Archived {} sessions that ended before {}", archived, cutoff);
+        }
+    }
+
+    private List<Row> nextBatch(LocalDateTime cutoff, LocalDateTime afterStart, long afterId) {
+        Timestamp after = Timestamp.valueOf(afterStart);
+        return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER,
+                Timestamp.valueOf(cutoff), after, after, afterId, batchSize);
+    }
+
+    private int archive(List<Row> rows, LocalDateTime cutoff) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        // Re-checked and locked in case a session was rescheduled or archived since it was read;
+        // only the rows flagged here are dropped from the activity tracker
+        List<Row> archivable = transactionTemplate.execute(tx -> {
+            List<Row> locked = jdbcTemplate.query("SELECT id, group_id, starts_at, ends_at FROM sessions"
+                    + " WHERE id IN " + idList(rows) + " AND archived = false AND ends_at < ? FOR UPDATE",
+                    ROW_MAPPER, Timestamp.valueOf(cutoff));
+            if (!locked.isEmpty()) {
+                jdbcTemplate.update("UPDATE sessions SET archived = true, archived_at = ? WHERE id IN " + idList(locked),
+                        Timestamp.valueOf(LocalDateTime.now()));
+            }
+            return locked;
+        });
+        archivedCounter.increment(archivable.size());
+
+        for (Row row : archivable) {
+            activityTracker.onSessionRemoved(row.groupId(), row.id());
+        }
+        return archivable.size();
+    }
+
+    private Checkpoint readCheckpoint() {
+        jdbcTemplate.update(INIT_CHECKPOINT_SQL, Timestamp.valueOf(SCAN_START));
+        return jdbcTemplate.queryForObject(CHECKPOINT_SQL,
+                (rs, i) -> new Checkpoint(rs.getObject(1, LocalDateTime.class), rs.getLong(2)));
+    }
+
+    // Moves the checkpoint back so that the next scan includes (startsAt, id)
+    private void rewindTo(LocalDateTime startsAt, Long id) {
+        long before = id == null ? 0 : id - 1;
+        Timestamp start = Timestamp.valueOf(startsAt);
+        jdbcTemplate.update(REWIND_SQL, start, before, start, start, before);
+    }
+
+    private static String idList(List<Row> rows) {
+        StringJoiner ids = new StringJoiner(",", "(", ")");
+        rows.forEach(row -> ids.add(Long.toString(row.id())));
+        return ids.toString();
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Row(long id, long groupId, LocalDateTime startsAt, LocalDateTime endsAt) {
+    }
+
+    private record Checkpoint(LocalDateTime startsAt, long sessionId) {
+    }
+}
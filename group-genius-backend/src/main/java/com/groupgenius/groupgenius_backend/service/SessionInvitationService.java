@@ -1,5 +1,6 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
 import com.groupgenius.groupgenius_backend.dto.SessionInvitationResponse;
 import com.groupgenius.groupgenius_backend.entity.*;
 import com.groupgenius.groupgenius_backend.exception.ResourceNotFoundException;
@@ -14,7 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,6 +34,7 @@ public class SessionInvitationService {
         private final NotificationRepository notificationRepository;
         private final JdbcTemplate jdbcTemplate;
         private final EmailService emailService;
+        private final CalendarFeedService calendarFeedService;
 
         @Value("${app.frontend.url}")
         private String frontendUrl;
@@ -45,6 +49,7 @@ public class SessionInvitationService {
                                         .user(creator)
                                         .build();
                         participantRepository.save(participant);
+                        calendarFeedService.invalidateUser(creator.getId());
                         log.info("✅ Creator {} automatically added as participant to session {}",
                                         creator.getId(), session.getId());
                 }
@@ -59,24 +64,32 @@ public class SessionInvitationService {
                         return;
                 }
 
+                // Membership of all invitees in one query; not from the per-node membership
+                // index, which can still list members removed on another node
+                Long groupId = session.getGroup().getId();
+                Map<Long, GroupMember.Status> statuses = new HashMap<>();
+                for (Object[] row : groupMemberRepository.findMembershipRowsByGroupIdAndUserIds(groupId,
+                                invitedUserIds)) {
+                        statuses.put((Long) row[0], (GroupMember.Status) row[2]);
+                }
+
                 for (Long userId : invitedUserIds) {
                         try {
-                                User user = userRepository.findById(userId)
-                                                .orElseThrow(() -> new ResourceNotFoundException(
-                                                                "User not found with ID: " + userId));
-
                                 // Verify user is a member of the group
-                                GroupMember membership = groupMemberRepository
-                                                .findByUserAndGroup(user, session.getGroup())
-                                                .orElseThrow(() -> new UnauthorizedActionException(
-                                                                "User " + userId + " is not a member of group "
-                                                                                + session.getGroup().getId()));
+                                if (!statuses.containsKey(userId)) {
+                                        throw new UnauthorizedActionException(
+                                                        "User " + userId + " is not a member of group " + groupId);
+                                }
 
-                                if (membership.getStatus() != GroupMember.Status.APPROVED) {
+                                if (statuses.get(userId) != GroupMember.Status.APPROVED) {
                                         log.warn("Skipping invitation for user {} - not an approved member", userId);
                                         continue;
                                 }
 
+                                User user = userRepository.findById(userId)
+                                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                                "User not found with ID: " + userId));
+
                                 // Check if invitation already exists
                                 if (invitationRepository.findBySessionAndUser(session, user).isPresent()) {
                                         log.info("Invitation already exists for user {} and session {}", userId,
@@ -214,6 +227,7 @@ public class SessionInvitationService {
                                         .user(invitation.getUser())
                                         .build();
                         participantRepository.save(participant);
+                        calendarFeedService.invalidateUser(invitation.getUser().getId());
                 }
 
                 // Notify session creator
@@ -308,6 +322,7 @@ public class SessionInvitationService {
                                         .user(invitation.getUser())
                                         .build();
                         participantRepository.save(participant);
+                        calendarFeedService.invalidateUser(invitation.getUser().getId());
                 }
 
                 String message = String.format("%s %s is joining '%s' after previously declining",
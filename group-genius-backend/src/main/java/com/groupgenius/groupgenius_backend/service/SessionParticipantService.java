@@ -1,10 +1,13 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
 import com.groupgenius.groupgenius_backend.dto.SessionParticipantResponse;
+import com.groupgenius.groupgenius_backend.entity.GroupMember;
 import com.groupgenius.groupgenius_backend.entity.Session;
 import com.groupgenius.groupgenius_backend.entity.SessionParticipant;
 import com.groupgenius.groupgenius_backend.exception.ResourceNotFoundException;
 import com.groupgenius.groupgenius_backend.mapper.SessionParticipantMapper;
+import com.groupgenius.groupgenius_backend.repository.GroupMemberRepository;
 import com.groupgenius.groupgenius_backend.repository.SessionParticipantRepository;
 import com.groupgenius.groupgenius_backend.repository.SessionRepository;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +33,8 @@ public class SessionParticipantService {
     private final SessionParticipantRepository participantRepository;
     private final SessionRepository sessionRepository;
     private final UserRepository userRepository;
-    private final com.groupgenius.groupgenius_backend.repository.GroupMemberRepository groupMemberRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final CalendarFeedService calendarFeedService;
 
     /**
      * Get all participants for a session
@@ -90,14 +94,12 @@ public class SessionParticipantService {
         com.groupgenius.groupgenius_backend.entity.User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         // Ensure the user is an approved member of the session's group before allowing
-        // them to join
+        // them to join. Read from the database: the per-node membership index can still
+        // list a member removed on another node.
         if (session.getGroup() != null) {
-            com.groupgenius.groupgenius_backend.entity.Group group = session.getGroup();
-            com.groupgenius.groupgenius_backend.entity.GroupMember membership = groupMemberRepository
-                    .findByUserAndGroup(user, group)
-                    .orElse(null);
-            if (membership == null || membership
-                    .getStatus() != com.groupgenius.groupgenius_backend.entity.GroupMember.Status.APPROVED) {
+            List<Object[]> rows = groupMemberRepository.findMembershipRowsByGroupIdAndUserIds(
+                    session.getGroup().getId(), List.of(userId));
+            if (rows.isEmpty() || rows.get(0)[2] != GroupMember.Status.APPROVED) {
                 throw new com.groupgenius.groupgenius_backend.exception.UnauthorizedActionException(
                         "Only approved group members can join this session");
             }
@@ -114,6 +116,7 @@ public class SessionParticipantService {
                 .build();
 
         SessionParticipant saved = participantRepository.save(participant);
+        calendarFeedService.invalidateUser(userId);
         log.info("User {} added as participant to session {}", userId, sessionId);
         return saved;
     }
@@ -130,6 +133,7 @@ public class SessionParticipantService {
         for (SessionParticipant p : participants) {
             if (p.getUser().getId().equals(userId)) {
                 participantRepository.delete(p);
+                calendarFeedService.invalidateUser(userId);
                 log.info("User {} removed from session {}", userId, sessionId);
                 return;
             }
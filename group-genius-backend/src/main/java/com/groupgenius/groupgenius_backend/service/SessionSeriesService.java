@@ -0,0 +1,359 @@
+package com.groupgenius.groupgenius_backend.service;
+
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
+import com.groupgenius.groupgenius_backend.dto.SessionOccurrenceDTO;
+import com.groupgenius.groupgenius_backend.dto.SessionSeriesRequest;
+import com.groupgenius.groupgenius_backend.dto.SessionSeriesResponse;
+import com.groupgenius.groupgenius_backend.entity.Group;
+import com.groupgenius.groupgenius_backend.entity.GroupMember;
+import com.groupgenius.groupgenius_backend.entity.Notification;
+import com.groupgenius.groupgenius_backend.entity.Session;
+import com.groupgenius.groupgenius_backend.entity.SessionSeries;
+import com.groupgenius.groupgenius_backend.entity.User;
+import com.groupgenius.groupgenius_backend.exception.ResourceNotFoundException;
+import com.groupgenius.groupgenius_backend.exception.TimeSlotConflictException;
+import com.groupgenius.groupgenius_backend.mapper.SessionSeriesMapper;
+import com.groupgenius.groupgenius_backend.repository.GroupMemberRepository;
+import com.groupgenius.groupgenius_backend.repository.GroupRepository;
+import com.groupgenius.groupgenius_backend.repository.NotificationRepository;
+import com.groupgenius.groupgenius_backend.repository.SessionRepository;
+import com.groupgenius.groupgenius_backend.repository.SessionSeriesRepository;
+import com.groupgenius.groupgenius_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring sessions. A series is one row; its occurrences are expanded on demand for the
+ * window being looked at, checked for overlaps against one-off sessions and other series
+ * of the group, and members are notified once for the whole series.
+ *
+ * <p>A series belongs to the whole group: there is no per-series invitee list, every
+ * approved member sees its occurrences in their calendar feed. Invite-only meetings are
+ * one-off sessions with {@link SessionInvitationService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SessionSeriesService {
+
+        // Bounds on how far a single series (and a single calendar query) may reach
+        private static final int MAX_OCCURRENCES = 520;
+        private static final int MAX_SERIES_DAYS = 730;
+        private static final int MAX_WINDOW_DAYS = 366;
+
+        private final SessionSeriesRepository seriesRepository;
+        private final SessionRepository sessionRepository;
+        private final GroupRepository groupRepository;
+        private final UserRepository userRepository;
+        private final GroupMemberRepository groupMemberRepository;
+        private final NotificationRepository notificationRepository;
+        private final CalendarFeedService calendarFeedService;
+
+        public SessionSeriesResponse createSeries(Long groupId, Long createdById, SessionSeriesRequest request) {
+                Group group = groupRepository.findById(groupId)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                "Group not found with ID: " + groupId));
+                User creator = userRepository.findById(createdById)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                "User not found with ID: " + createdById));
+
+                LocalDate startDate = parseDate(request.getStartDate(), "Start date");
+                LocalTime startTime = parseTime(request.getStartTime(), "Start time");
+                LocalTime endTime = parseTime(request.getEndTime(), "End time");
+                if (!endTime.isAfter(startTime)) {
+                        throw new IllegalArgumentException("End time must be after the start time");
+                }
+                SessionSeries.Frequency frequency = parseFrequency(request.getFrequency());
+                int daysMask = SessionSeries.maskOf(parseDays(request.getDaysOfWeek()));
+                LocalDate untilDate = request.getUntilDate() == null || request.getUntilDate().isBlank()
+                                ? null
+                                : parseDate(request.getUntilDate(), "Until date");
+                LocalDate endDate = resolveEndDate(startDate, daysMask, frequency, untilDate,
+                                request.getOccurrenceCount());
+
+                SessionSeries series = SessionSeries.builder()
+                                .group(group)
+                                .createdBy(creator)
+                                .title(request.getTitle())
+                                .description(request.getDescription())
+                                .meetingLink(request.getMeetingLink())
+                                .startTime(startTime)
+                                .endTime(endTime)
+                                .frequency(frequency)
+                                .daysMask(daysMask)
+                                .startDate(startDate)
+                                .endDate(endDate)
+                                .untilDate(untilDate)
+                                .occurrenceCount(request.getOccurrenceCount())
+                                .build();
+
+                requireNoConflicts(series);
+
+                SessionSeries saved = seriesRepository.save(series);
+                log.info("📅 Session series created: {} in group {} ({} to {})", saved.getTitle(),
+                                group.getGroupName(), saved.getStartDate(), saved.getEndDate());
+
+                notifyMembers(saved);
+                calendarFeedService.invalidateGroup(groupId);
+                return SessionSeriesMapper.toResponse(saved);
+        }
+
+        @Transactional(readOnly = true)
+        public SessionSeriesResponse getSeries(Long id) {
+                return SessionSeriesMapper.toResponse(findSeries(id));
+        }
+
+        /** Occurrences of one series within {@code [from, to]}. */
+        @Transactional(readOnly = true)
+        public List<SessionOccurrenceDTO> getSeriesOccurrences(Long id, LocalDate from, LocalDate to) {
+                requireWindow(from, to);
+                SessionSeries series = findSeries(id);
+                return series.occurrencesBetween(from, to).stream()
+                                .map(date -> SessionSeriesMapper.toOccurrence(series, date))
+                                .toList();
+        }
+
+        /**
+         * Everything a group meets for within {@code [from, to]}: one-off sessions and the
+         * expanded occurrences of its series, in start order.
+         */
+        @Transactional(readOnly = true)
+        public List<SessionOccurrenceDTO> getGroupOccurrences(Long groupId, LocalDate from, LocalDate to) {
+                requireWindow(from, to);
+                List<SessionOccurrenceDTO> occurrences = new ArrayList<>();
+                for (Session session : sessionRepository.findOverlappingSessions(groupId, from.atStartOfDay(),
+                                to.plusDays(1).atStartOfDay())) {
+                        occurrences.add(SessionSeriesMapper.toOccurrence(session));
+                }
+                for (SessionSeries series : seriesRepository.findActiveByGroupIdBetween(groupId, from, to)) {
+                        for (LocalDate date : series.occurrencesBetween(from, to)) {
+                                occurrences.add(SessionSeriesMapper.toOccurrence(series, date));
+                        }
+                }
+                occurrences.sort(Comparator.comparing(SessionOccurrenceDTO::getDate)
+                                .thenComparing(SessionOccurrenceDTO::getStartTime));
+                return occurrences;
+        }
+
+        public void deleteSeries(Long id) {
+                SessionSeries series = findSeries(id);
+                seriesRepository.delete(series);
+                calendarFeedService.invalidateGroup(series.getGroup().getId());
+                log.info("🗑️ Session series with ID {} deleted successfully.", id);
+        }
+
+        /**
+         * Whether {@code [start, end)} overlaps an occurrence of an active series of the
+         * group. Only series whose date range touches the interval are loaded.
+         */
+        @Transactional(readOnly = true)
+        public boolean overlapsSeries(Long groupId, LocalDateTime start, LocalDateTime end) {
+                LocalDate from = start.toLocalDate();
+                LocalDate to = end.toLocalDate();
+                for (SessionSeries series : seriesRepository.findActiveByGroupIdBetween(groupId, from, to)) {
+                        for (LocalDate date : series.occurrencesBetween(from, to)) {
+                                if (overlaps(series, date, start, end)) {
+                                        return true;
+                                }
+                        }
+                }
+                return false;
+        }
+
+        private void requireNoConflicts(SessionSeries series) {
+                Long groupId = series.getGroup().getId();
+                LocalDate from = series.getStartDate();
+                LocalDate to = series.getEndDate();
+
+                // One-off sessions: only the occurrences on the days each session spans are expanded
+                for (Session session : sessionRepository.findOverlappingSessions(groupId, from.atStartOfDay(),
+                                to.plusDays(1).atStartOfDay())) {
+                        LocalDateTime start = session.getComputedStartTime();
+                        LocalDateTime end = session.getComputedEndTime();
+                        for (LocalDate date : series.occurrencesBetween(start.toLocalDate(), end.toLocalDate())) {
+                                if (overlaps(series, date, start, end)) {
+                                        throw new TimeSlotConflictException("Session series overlaps the session \""
+                                                        + session.getTitle() + "\" on " + date);
+                                }
+                        }
+                }
+
+                // Other series: only those sharing a weekday and time of day can collide
+                for (SessionSeries other : seriesRepository.findActiveByGroupIdBetween(groupId, from, to)) {
+                        if ((other.getDaysMask() & series.getDaysMask()) == 0
+                                        || !other.getStartTime().isBefore(series.getEndTime())
+                                        || !other.getEndTime().isAfter(series.getStartTime())) {
+                                continue;
+                        }
+                        LocalDate overlapFrom = from.isAfter(other.getStartDate()) ? from : other.getStartDate();
+                        LocalDate overlapTo = to.isBefore(other.getEndDate()) ? to : other.getEndDate();
+                        Set<LocalDate> dates = new HashSet<>(series.occurrencesBetween(overlapFrom, overlapTo));
+                        for (LocalDate date : other.occurrencesBetween(overlapFrom, overlapTo)) {
+                                if (dates.contains(date)) {
+                                        throw new TimeSlotConflictException("Session series overlaps the series \""
+                                                        + other.getTitle() + "\" on " + date);
+                                }
+                        }
+                }
+        }
+
+        private static boolean overlaps(SessionSeries series, LocalDate date, LocalDateTime start,
+                        LocalDateTime end) {
+                return LocalDateTime.of(date, series.getStartTime()).isBefore(end)
+                                && LocalDateTime.of(date, series.getEndTime()).isAfter(start);
+        }
+
+        /**
+         * One notification per approved member for the whole series, instead of one per
+         * occurrence. Informational only: the series is on every member's calendar anyway.
+         */
+        private void notifyMembers(SessionSeries series) {
+                Long creatorId = series.getCreatedBy().getId();
+                List<Long> recipients = groupMemberRepository.findMembershipRowsByGroupId(series.getGroup().getId())
+                                .stream()
+                                .filter(row -> row[2] == GroupMember.Status.APPROVED)
+                                .map(row -> (Long) row[0])
+                                .collect(Collectors.toList());
+                recipients.remove(creatorId);
+                if (recipients.isEmpty()) {
+                        log.info("ℹ️ No other members to notify for session series: {}", series.getTitle());
+                        return;
+                }
+
+                String message = String.format("'%s' was scheduled in '%s' by %s %s: %s",
+                                series.getTitle(),
+                                series.getGroup().getGroupName(),
+                                series.getCreatedBy().getFirstName(),
+                                series.getCreatedBy().getLastName(),
+                                describeSchedule(series));
+                List<Notification> notifications = new ArrayList<>(recipients.size());
+                for (Long userId : recipients) {
+                        notifications.add(Notification.builder()
+                                        .recipient(userRepository.getReferenceById(userId))
+                                        .type(Notification.NotificationType.GENERAL)
+                                        .message(message)
+                                        .read(false)
+                                        .build());
+                }
+                notificationRepository.saveAll(notifications);
+                log.info("📨 Sent {} notifications for session series: {}", notifications.size(), series.getTitle());
+        }
+
+        private static String describeSchedule(SessionSeries series) {
+                String days = series.getDays().stream()
+                                .map(day -> day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                                .collect(Collectors.joining(", "));
+                String every = series.getFrequency() == SessionSeries.Frequency.WEEKLY ? "every week" : "every other week";
+                return String.format("%s %s, %s–%s, %s to %s", days, every, series.getStartTime(),
+                                series.getEndTime(), series.getStartDate(), series.getEndDate());
+        }
+
+        private LocalDate resolveEndDate(LocalDate startDate, int daysMask, SessionSeries.Frequency frequency,
+                        LocalDate untilDate, Integer occurrenceCount) {
+                if (untilDate == null && occurrenceCount == null) {
+                        throw new IllegalArgumentException("Either an until date or an occurrence count is required");
+                }
+                LocalDate limit = startDate.plusDays(MAX_SERIES_DAYS);
+                if (untilDate != null) {
+                        if (untilDate.isBefore(startDate)) {
+                                throw new IllegalArgumentException("Until date must not be before the start date");
+                        }
+                        if (untilDate.isAfter(limit)) {
+                                throw new IllegalArgumentException(
+                                                "A session series may span at most " + MAX_SERIES_DAYS + " days");
+                        }
+                        limit = untilDate;
+                }
+                if (occurrenceCount == null) {
+                        return limit;
+                }
+                if (occurrenceCount < 1 || occurrenceCount > MAX_OCCURRENCES) {
+                        throw new IllegalArgumentException(
+                                        "Occurrence count must be between 1 and " + MAX_OCCURRENCES);
+                }
+                LocalDate last = SessionSeries.nthOccurrence(startDate, daysMask, frequency, occurrenceCount, limit);
+                // Fewer occurrences fit before the until date (or the span limit): stop there
+                return last != null ? last : limit;
+        }
+
+        private SessionSeries findSeries(Long id) {
+                return seriesRepository.findById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                "Session series not found with ID: " + id));
+        }
+
+        private static void requireWindow(LocalDate from, LocalDate to) {
+                if (from == null || to == null || to.isBefore(from)) {
+                        throw new IllegalArgumentException("A window with from <= to is required");
+                }
+                if (from.plusDays(MAX_WINDOW_DAYS).isBefore(to)) {
+                        throw new IllegalArgumentException("The window may span at most " + MAX_WINDOW_DAYS + " days");
+                }
+        }
+
+        private static SessionSeries.Frequency parseFrequency(String value) {
+                if (value == null || value.isBlank()) {
+                        return SessionSeries.Frequency.WEEKLY;
+                }
+                try {
+                        return SessionSeries.Frequency.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                        throw new IllegalArgumentException("Frequency must be WEEKLY or BIWEEKLY");
+                }
+        }
+
+        private static Set<DayOfWeek> parseDays(List<String> values) {
+                if (values == null || values.isEmpty()) {
+                        throw new IllegalArgumentException("At least one day of the week is required");
+                }
+                Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                for (String value : values) {
+                        try {
+                                days.add(DayOfWeek.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+                        } catch (RuntimeException ex) {
+                                throw new IllegalArgumentException("Invalid day of week: " + value);
+                        }
+                }
+                return days;
+        }
+
+        private static LocalDate parseDate(String value, String label) {
+                if (value == null || value.trim().isEmpty()) {
+                        throw new IllegalArgumentException(label + " is required");
+                }
+                try {
+                        return LocalDate.parse(value.trim());
+                } catch (DateTimeParseException ex) {
+                        throw new IllegalArgumentException("Invalid date format for " + label + ": " + value);
+                }
+        }
+
+        private static LocalTime parseTime(String value, String label) {
+                if (value == null || value.trim().isEmpty()) {
+                        throw new IllegalArgumentException(label + " is required");
+                }
+                try {
+                        return LocalTime.parse(value.trim());
+                } catch (DateTimeParseException ex) {
+                        throw new IllegalArgumentException("Invalid time format for " + label + ": " + value);
+                }
+        }
+}
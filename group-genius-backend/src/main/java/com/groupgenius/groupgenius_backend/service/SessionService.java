@@ -1,5 +1,7 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.activity.GroupActivityTracker;
+import com.groupgenius.groupgenius_backend.calendar.CalendarFeedService;
 import com.groupgenius.groupgenius_backend.dto.SessionCreateWithInvitationsRequest;
 import com.groupgenius.groupgenius_backend.dto.SessionRequestDTO;
 import com.groupgenius.groupgenius_backend.dto.SessionResponseDTO;
@@ -38,16 +40,49 @@ public class SessionService {
         private final GroupMemberRepository groupMemberRepository;
         private final NotificationService notificationService;
         private final SessionInvitationService invitationService;
+        private final GroupActivityTracker activityTracker;
+        private final SessionSeriesService seriesService;
+        private final CalendarFeedService calendarFeedService;
+        private final SessionArchivalService archivalService;
 
         public SessionService(SessionRepository sessionRepository, GroupRepository groupRepository,
                         UserRepository userRepository, GroupMemberRepository groupMemberRepository,
-                        NotificationService notificationService, SessionInvitationService invitationService) {
+                        NotificationService notificationService, SessionInvitationService invitationService,
+                        GroupActivityTracker activityTracker, SessionSeriesService seriesService, CalendarFeedService calendarFeedService,
+                        SessionArchivalService archivalService) {
                 this.sessionRepository = sessionRepository;
                 this.groupRepository = groupRepository;
                 this.userRepository = userRepository;
                 this.groupMemberRepository = groupMemberRepository;
                 this.notificationService = notificationService;
                 this.invitationService = invitationService;
+                this.activityTracker = activityTracker;
+                this.seriesService = seriesService;
+                this.calendarFeedService = calendarFeedService;
+                this.archivalService = archivalService;
+        }
+
+        // Keeps the upcoming-session count on group cards and the archiver's checkpoint current
+        private void trackUpcoming(Session session) {
+                activityTracker.onSessionSaved(session.getGroup().getId(), session.getId(),
+                                session.getComputedStartTime(), Boolean.TRUE.equals(session.getArchived()));
+                archivalService.onSessionSaved(session);
+        }
+
+        /**
+         * Rejects the range if it overlaps another active session of the group or an
+         * occurrence of one of its series. Sessions are checked with a range scan on
+         * idx_sessions_group_range, which also sees what other nodes just wrote.
+         */
+        private void requireFreeSlot(Long groupId, LocalDateTime start, LocalDateTime end, Long excludeSessionId,
+                        String message) {
+                List<Session> conflicts = sessionRepository.findOverlappingSessions(groupId, start, end);
+                if (conflicts.stream().anyMatch(s -> !s.getId().equals(excludeSessionId))) {
+                        throw new TimeSlotConflictException(message);
+                }
+                if (seriesService.overlapsSeries(groupId, start, end)) {
+                        throw new TimeSlotConflictException(message);
+                }
         }
 
         private LocalDate parseDate(String dateValue) {
@@ -91,11 +126,8 @@ public class SessionService {
                 int normalizedDuration = Math.max(durationDays, 1);
                 LocalDateTime sessionStart = LocalDateTime.of(date, startTime);
                 LocalDateTime sessionEnd = LocalDateTime.of(date, endTime).plusDays(normalizedDuration - 1);
-                List<Session> conflicts = sessionRepository.findOverlappingSessions(group.getId(), sessionStart,
-                                sessionEnd);
-                if (!conflicts.isEmpty()) {
-                        throw new TimeSlotConflictException("Session time overlaps with another existing session");
-                }
+                requireFreeSlot(group.getId(), sessionStart, sessionEnd, null,
+                                "Session time overlaps with another existing session");
 
                 Session session = Session.builder()
                                 .group(group)
@@ -111,6 +143,7 @@ public class SessionService {
 
                 Session saved = sessionRepository.save(session);
                 log.info("📅 Session created: {} in group {}", saved.getTitle(), group.getGroupName());
+                trackUpcoming(saved);
 
                 // Automatically add creator as a participant (they don't need an invitation)
                 invitationService.addCreatorAsParticipant(saved, creator);
@@ -146,14 +179,8 @@ public class SessionService {
                 int normalizedDuration = Math.max(durationDays, 1);
                 LocalDateTime sessionStart = LocalDateTime.of(date, startTime);
                 LocalDateTime updatedEnd = LocalDateTime.of(date, endTime).plusDays(normalizedDuration - 1);
-                List<Session> conflicts = sessionRepository.findOverlappingSessions(
-                                existing.getGroup().getId(),
-                                sessionStart,
-                                updatedEnd);
-
-                if (!conflicts.isEmpty() && conflicts.stream().anyMatch(s -> !s.getId().equals(id))) {
-                        throw new TimeSlotConflictException("Session time overlaps with another session");
-                }
+                requireFreeSlot(existing.getGroup().getId(), sessionStart, updatedEnd, id,
+                                "Session time overlaps with another session");
 
                 existing.setTitle(requestDTO.getTitle());
                 existing.setDescription(requestDTO.getDescription());
@@ -164,6 +191,8 @@ public class SessionService {
                 existing.setMeetingLink(requestDTO.getMeetingLink());
 
                 Session updated = sessionRepository.save(existing);
+                trackUpcoming(updated);
+                calendarFeedService.invalidateSession(id);
 
                 // Notify all group members (except creator)
                 notificationService.notifyGroupMembersOnSessionEvent(updated,
@@ -172,6 +201,7 @@ public class SessionService {
                 return SessionMapper.toDTO(updated);
         }
 
+        @Transactional(readOnly = true)
         public Page<SessionResponseDTO> getSessionsByGroup(Long groupId, int page, int size) {
                 Group group = groupRepository.findById(groupId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -204,6 +234,8 @@ public class SessionService {
 
                 Session session = sessionRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Session not found with ID: " + id));
+                // Participants are looked up before they are deleted below
+                calendarFeedService.invalidateSession(id);
 
                 // remove session-related entities that JPA/Hibernate should also cascade,
                 // but we explicitly delete to be safe against schema drift
@@ -225,12 +257,14 @@ public class SessionService {
 
                 // Finally delete the session (JPA cascade will handle anything remaining)
                 sessionRepository.delete(session);
+                activityTracker.onSessionRemoved(session.getGroup().getId(), id);
                 log.info("🗑️ Session with ID {} deleted successfully.", id);
         }
 
         /**
          * Get all sessions created by a specific user across all groups
          */
+        @Transactional(readOnly = true)
         public List<SessionResponseDTO> getSessionsByCreator(Long creatorId) {
                 User creator = userRepository.findById(creatorId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -270,11 +304,8 @@ public class SessionService {
                 LocalDateTime computedEnd = LocalDateTime.of(date, endTime).plusDays(normalizedDuration - 1);
 
                 // Validate overlap
-                List<Session> conflicts = sessionRepository.findOverlappingSessions(group.getId(), sessionStart,
-                                computedEnd);
-                if (!conflicts.isEmpty()) {
-                        throw new TimeSlotConflictException("Session time overlaps with another existing session");
-                }
+                requireFreeSlot(group.getId(), sessionStart, computedEnd, null,
+                                "Session time overlaps with another existing session");
 
                 // Create session
                 Session session = Session.builder()
@@ -291,6 +322,7 @@ public class SessionService {
 
                 Session saved = sessionRepository.save(session);
                 log.info("📅 Session created: {} in group {}", saved.getTitle(), group.getGroupName());
+                trackUpcoming(saved);
 
                 // Automatically add creator as a participant (they don't need an invitation)
                 invitationService.addCreatorAsParticipant(saved, creator);
@@ -3,6 +3,7 @@ package com.groupgenius.groupgenius_backend.service;
 import com.groupgenius.groupgenius_backend.dto.*;
 import com.groupgenius.groupgenius_backend.entity.Course;
 import com.groupgenius.groupgenius_backend.entity.User;
+import com.groupgenius.groupgenius_backend.recommendation.GroupRecommendationEngine;
 import com.groupgenius.groupgenius_backend.repository.CourseRepository;
 import com.groupgenius.groupgenius_backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
@@ -18,6 +19,7 @@ public class UserCourseService {
 
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final GroupRecommendationEngine recommendationEngine;
 
     public List<CourseResponse> getUserCourses(Long userId) {
         User user = userRepository.findById(userId)
@@ -48,6 +50,7 @@ public class UserCourseService {
                 if (curr == null) curr = 0;
                 course.setCurrentEnrollment(curr + 1);
                 courseRepository.save(course);
+                recommendationEngine.onEnrollmentChanged(userId, courseId, true);
     }
 
     @Transactional
@@ -70,6 +73,7 @@ public class UserCourseService {
                 if (curr == null) curr = 0;
                 course.setCurrentEnrollment(Math.max(0, curr - 1));
                 courseRepository.save(course);
+                recommendationEngine.onEnrollmentChanged(userId, courseId, false);
     }
 
     public CoursePeersResponse findCoursePeers(Long courseId, Long userId) {
@@ -1,5 +1,6 @@
 package com.groupgenius.groupgenius_backend.service;
 
+import com.groupgenius.groupgenius_backend.chat.SenderProfileCache;
 import com.groupgenius.groupgenius_backend.dto.LoginRequest;
 import com.groupgenius.groupgenius_backend.dto.LoginResponse;
 import com.groupgenius.groupgenius_backend.dto.UserDto;
@@ -7,6 +8,7 @@ import com.groupgenius.groupgenius_backend.dto.UserResponse;
 import com.groupgenius.groupgenius_backend.entity.Course;
 import com.groupgenius.groupgenius_backend.entity.User;
 import com.groupgenius.groupgenius_backend.mapper.UserMapper;
+import com.groupgenius.groupgenius_backend.recommendation.GroupRecommendationEngine;
 import com.groupgenius.groupgenius_backend.repository.CourseRepository;
 import com.groupgenius.groupgenius_backend.repository.UserRepository;
 import com.groupgenius.groupgenius_backend.security.JwtUtil;
@@ -26,6 +28,8 @@ public class UserService {
     private final CourseRepository courseRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final SenderProfileCache senderProfileCache;
+    private final GroupRecommendationEngine recommendationEngine;
 
     public User register(UserDto userDto) {
         if (userRepository.existsByEmail(userDto.getEmail())) {
@@ -83,7 +87,9 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        senderProfileCache.invalidate(id);
+        return saved;
     }
 
     public void deleteUser(Long id) {
@@ -91,6 +97,7 @@ public class UserService {
             throw new IllegalArgumentException("User not found");
         }
         userRepository.deleteById(id);
+        senderProfileCache.invalidate(id);
     }
 
     @Transactional
@@ -108,6 +115,7 @@ public class UserService {
             course.setCurrentEnrollment(curr + 1);
             courseRepository.save(course);
             userRepository.save(user);
+            recommendationEngine.onEnrollmentChanged(userId, courseId, true);
         }
         return UserMapper.toResponse(user);
     }
@@ -127,6 +135,7 @@ public class UserService {
             course.setCurrentEnrollment(Math.max(0, curr - 1));
             courseRepository.save(course);
             userRepository.save(user);
+            recommendationEngine.onEnrollmentChanged(userId, courseId, false);
         }
         return UserMapper.toResponse(user);
     }
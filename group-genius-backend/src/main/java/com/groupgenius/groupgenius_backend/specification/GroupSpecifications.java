@@ -7,6 +7,9 @@ import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 public final class GroupSpecifications {
     private GroupSpecifications() {
     }
@@ -42,4 +45,16 @@ public final class GroupSpecifications {
             return p;
         };
     }
+
+    // Restricts results to the candidates found by the in-memory group text index
+    public static Specification<Group> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // Keyset condition for (createdAt desc, id desc) paging: rows strictly after the cursor row
+    public static Specification<Group> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
 }
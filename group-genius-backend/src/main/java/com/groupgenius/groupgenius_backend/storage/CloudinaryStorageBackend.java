@@ -0,0 +1,107 @@
+package com.groupgenius.groupgenius_backend.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryStorageBackend implements StorageBackend {
+
+    private final Cloudinary cloudinary;
+
+    @Value("${cloudinary.upload-folder:group-genius}")
+    private String uploadFolder;
+
+    // Where the container spools multipart uploads; spool files are created next to them
+    @Value("${spring.servlet.multipart.location:}")
+    private String multipartLocation;
+
+    @Override
+    public String store(InputStream content, String publicId, long size) throws IOException {
+        // The SDK streams a File from disk in chunks, while a byte[] would have to be fully
+        // buffered; spool the upload to a temp file instead of reading it into memory.
+        Path spool = createSpoolFile();
+        try {
+            Files.copy(content, spool, StandardCopyOption.REPLACE_EXISTING);
+            return upload(spool.toFile(), publicId);
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    /**
+     * Moves the part the container already spooled to disk (a rename on the same
+     * filesystem; small in-memory parts are written once) and uploads that file, so an
+     * attachment is not copied to a second temp file first.
+     */
+    @Override
+    public String store(MultipartFile file, String publicId) throws IOException {
+        Path spool = createSpoolFile();
+        try {
+            file.transferTo(spool);
+            return upload(spool.toFile(), publicId);
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    private String upload(File file, String publicId) throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadOptions = (Map<String, Object>) ObjectUtils.asMap(
+                "resource_type", "auto",
+                "folder", uploadFolder,
+                "public_id", publicId);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadResult = (Map<String, Object>) cloudinary.uploader().upload(file, uploadOptions);
+
+        Object secureUrl = uploadResult.get("secure_url");
+        if (secureUrl instanceof String secureUrlString && !secureUrlString.isBlank()) {
+            return secureUrlString;
+        }
+
+        Object url = uploadResult.get("url");
+        if (url instanceof String urlString && !urlString.isBlank()) {
+            return urlString;
+        }
+
+        throw new IOException("Cloudinary upload did not return a URL");
+    }
+
+    private Path createSpoolFile() throws IOException {
+        if (multipartLocation == null || multipartLocation.isBlank()) {
+            return Files.createTempFile("upload-", ".tmp");
+        }
+        return Files.createTempFile(Paths.get(multipartLocation), "upload-", ".tmp");
+    }
+
+    private static void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Could not delete upload spool file {}", spool, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "cloudinary";
+    }
+}
@@ -0,0 +1,89 @@
+package com.groupgenius.groupgenius_backend.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Stores uploads on the local filesystem and serves them from {@code /api/files/{name}}.
+ * Meant for development and offline use in place of Cloudinary; files are not shared
+ * between nodes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    // Bytes handed to FileChannel.transferFrom per call
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private final Path directory;
+    private final String publicBaseUrl;
+
+    public LocalStorageBackend(@Value("${app.storage.local.directory:uploads}") String directory,
+            @Value("${app.storage.local.public-base-url:http://localhost:8080}") String publicBaseUrl)
+            throws IOException {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
+        Files.createDirectories(this.directory);
+        log.info("Local file storage enabled at {}", this.directory);
+    }
+
+    @Override
+    public String store(InputStream content, String publicId, long size) throws IOException {
+        Path target = resolve(publicId)
+                .orElseThrow(() -> new IOException("Invalid file name: " + publicId));
+        // Write to a sibling temp file first so readers never see a partial upload
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        try (ReadableByteChannel source = Channels.newChannel(content);
+                FileChannel sink = FileChannel.open(partial, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = sink.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            sink.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return publicBaseUrl + "/api/files/" + target.getFileName();
+    }
+
+    /**
+     * Resolves a stored file name inside the storage directory, rejecting anything that
+     * would escape it.
+     */
+    public Optional<Path> resolve(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return Optional.empty();
+        }
+        Path path = directory.resolve(filename).normalize();
+        if (!path.getParent().equals(directory)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+}
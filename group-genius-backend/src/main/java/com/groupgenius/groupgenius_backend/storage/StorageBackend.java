@@ -0,0 +1,33 @@
+package com.groupgenius.groupgenius_backend.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Destination for uploaded media. Implementations consume the stream incrementally
+ * so an upload is never held on the heap as a whole. The active backend is chosen
+ * with {@code app.storage.backend} ({@code cloudinary} by default, or {@code local}).
+ */
+public interface StorageBackend {
+
+    /**
+     * Stores the content under a name derived from {@code publicId} and returns the URL
+     * clients should use to fetch it. The caller owns (and closes) the stream.
+     */
+    String store(InputStream content, String publicId, long size) throws IOException;
+
+    /**
+     * Stores an uploaded multipart file. The default streams it; backends that need the
+     * content as a file on disk override this to take over the container's spooled copy
+     * instead of writing a second one.
+     */
+    default String store(MultipartFile file, String publicId) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return store(content, publicId, file.getSize());
+        }
+    }
+
+    String name();
+}
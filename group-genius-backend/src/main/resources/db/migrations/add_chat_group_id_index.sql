@@ -0,0 +1,4 @@
+-- Migration: composite index backing keyset pagination of chat history
+-- (GET /api/chat/{groupId}/messages?before=...)
+
+ALTER TABLE chat_messages ADD INDEX idx_chat_group_id (group_id, id);
@@ -0,0 +1,15 @@
+-- Migration: per-group message sequence numbers (chat_messages.group_seq)
+-- New messages are numbered by the application; this numbers existing rows in id order.
+-- Requires MySQL 8 (window functions). Run before deploying the version that assigns group_seq.
+
+ALTER TABLE chat_messages ADD COLUMN group_seq BIGINT NULL DEFAULT NULL;
+
+UPDATE chat_messages m
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY group_id ORDER BY id) AS seq
+    FROM chat_messages
+) numbered ON numbered.id = m.id
+SET m.group_seq = numbered.seq
+WHERE m.group_seq IS NULL;
+
+ALTER TABLE chat_messages ADD INDEX idx_chat_group_seq (group_id, group_seq);
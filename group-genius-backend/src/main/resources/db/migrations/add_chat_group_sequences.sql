@@ -0,0 +1,21 @@
+-- Migration: database-reserved chat group_seq blocks (see ChatSequenceAllocator)
+-- Nodes reserve per-group blocks from chat_group_sequences, so sequences no longer collide
+-- across nodes or repeat after a restart. The unique key turns any remaining collision into
+-- a failed insert. Run add_chat_group_seq.sql first; check for duplicates before the ALTER:
+--   SELECT group_id, group_seq FROM chat_messages WHERE group_seq IS NOT NULL
+--   GROUP BY group_id, group_seq HAVING COUNT(*) > 1;
+
+CREATE TABLE IF NOT EXISTS chat_group_sequences (
+  group_id BIGINT NOT NULL,
+  next_val BIGINT NOT NULL,
+  PRIMARY KEY (group_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Continue every existing group after its highest number
+INSERT INTO chat_group_sequences (group_id, next_val)
+SELECT group_id, MAX(group_seq) + 1 FROM chat_messages WHERE group_seq IS NOT NULL GROUP BY group_id
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+ALTER TABLE chat_messages
+  DROP INDEX idx_chat_group_seq,
+  ADD UNIQUE INDEX uk_chat_group_seq (group_id, group_seq);
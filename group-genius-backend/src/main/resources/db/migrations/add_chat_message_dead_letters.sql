@@ -0,0 +1,22 @@
+-- Migration: dead-letter table for write-behind chat messages
+-- Rows the write-behind worker could not insert are kept here (they were already broadcast)
+-- so they can be inspected and replayed instead of being lost.
+
+CREATE TABLE IF NOT EXISTS chat_message_dead_letters (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  message_id BIGINT DEFAULT NULL,
+  group_id BIGINT DEFAULT NULL,
+  sender_id BIGINT DEFAULT NULL,
+  group_seq BIGINT DEFAULT NULL,
+  content TEXT,
+  sent_at TIMESTAMP(6) NULL DEFAULT NULL,
+  message_type VARCHAR(20) DEFAULT NULL,
+  file_url TEXT DEFAULT NULL,
+  attachment_type VARCHAR(255) DEFAULT NULL,
+  attachment_name VARCHAR(255) DEFAULT NULL,
+  attachment_size BIGINT DEFAULT NULL,
+  error VARCHAR(1000) DEFAULT NULL,
+  failed_at TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (id),
+  KEY idx_chat_dead_letters_group (group_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
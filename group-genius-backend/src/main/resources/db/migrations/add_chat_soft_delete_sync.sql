@@ -0,0 +1,9 @@
+-- Migration: soft-deleted chat messages and change tracking for reconnect delta sync
+-- (GET /api/chat/{groupId}/sync?afterId=...)
+
+ALTER TABLE chat_messages ADD COLUMN updated_at TIMESTAMP(6) NULL DEFAULT NULL;
+
+UPDATE chat_messages SET deleted = FALSE WHERE deleted IS NULL;
+ALTER TABLE chat_messages MODIFY COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE chat_messages ADD INDEX idx_chat_group_updated (group_id, updated_at);
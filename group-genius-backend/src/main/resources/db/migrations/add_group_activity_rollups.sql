@@ -0,0 +1,19 @@
+-- Migration: rollup tables behind the live activity stats on group cards
+-- (messagesToday, activeMembers7d in GET /api/groups)
+
+-- Per-group activity rollups (GroupActivityTracker)
+CREATE TABLE IF NOT EXISTS group_activity_daily (
+  group_id BIGINT NOT NULL,
+  day DATE NOT NULL,
+  messages BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (group_id, day),
+  KEY idx_group_activity_daily_day (day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS group_activity_members (
+  group_id BIGINT NOT NULL,
+  day DATE NOT NULL,
+  user_id BIGINT NOT NULL,
+  PRIMARY KEY (group_id, day, user_id),
+  KEY idx_group_activity_members_day (day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
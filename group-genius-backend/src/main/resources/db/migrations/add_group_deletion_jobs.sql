@@ -0,0 +1,22 @@
+-- Migration: tombstoned groups and resumable background purge jobs
+-- (DELETE /api/groups/{groupId}, GET /api/groups/{groupId}/deletion)
+
+ALTER TABLE `groups` ADD COLUMN deleted_at TIMESTAMP NULL DEFAULT NULL;
+
+CREATE TABLE IF NOT EXISTS group_deletion_jobs (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  group_id BIGINT NOT NULL,
+  group_name VARCHAR(255) DEFAULT NULL,
+  requested_by BIGINT DEFAULT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  phase VARCHAR(30) NOT NULL,
+  rows_deleted BIGINT NOT NULL DEFAULT 0,
+  attempts INT NOT NULL DEFAULT 0,
+  last_error VARCHAR(500) DEFAULT NULL,
+  requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  completed_at TIMESTAMP NULL DEFAULT NULL,
+  version BIGINT DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY idx_group_deletion_group (group_id),
+  KEY idx_group_deletion_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,8 @@
+-- Migration: leases on group deletion jobs (see GroupDeletionService)
+-- A node claims a job by setting lease_owner / lease_until and renews the lease with every
+-- batch, so two nodes no longer purge the same group at once. A job whose node died is
+-- picked up again once its lease has run out.
+
+ALTER TABLE group_deletion_jobs
+  ADD COLUMN lease_owner VARCHAR(64) DEFAULT NULL AFTER completed_at,
+  ADD COLUMN lease_until TIMESTAMP NULL DEFAULT NULL AFTER lease_owner;
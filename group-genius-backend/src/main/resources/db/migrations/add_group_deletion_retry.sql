@@ -0,0 +1,6 @@
+-- Migration: retry backoff for group deletion jobs (see GroupDeletionService)
+-- A failed job is no longer abandoned after its fifth attempt: it is retried with exponential
+-- backoff (capped at an hour) and next_attempt_at holds when it may be claimed again.
+
+ALTER TABLE group_deletion_jobs
+  ADD COLUMN next_attempt_at TIMESTAMP NULL DEFAULT NULL AFTER lease_until;
@@ -0,0 +1,4 @@
+-- Migration: composite index backing cursor pagination of group search
+-- (GET /api/groups?cursor=...)
+
+ALTER TABLE `groups` ADD INDEX idx_groups_created_id (created_at, id);
@@ -0,0 +1,12 @@
+-- Migration: persistent checkpoint for session archival (see SessionArchivalService)
+-- The (starts_at, id) position reached by the keyset scan is stored here instead of in
+-- memory, so a restart or another node resumes where the last run stopped.
+
+CREATE TABLE IF NOT EXISTS session_archive_checkpoint (
+  id TINYINT NOT NULL,
+  starts_at DATETIME NOT NULL,
+  session_id BIGINT NOT NULL,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO session_archive_checkpoint (id, starts_at, session_id) VALUES (1, '1970-01-01 00:00:00', 0);
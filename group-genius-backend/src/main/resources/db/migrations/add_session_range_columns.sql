@@ -0,0 +1,14 @@
+-- Migration: materialized session start/end timestamps with range indexes
+-- (findOverlappingSessions, findActiveSessionsBetween). Rows left NULL here are
+-- filled at startup by SessionRangeBackfill.
+
+ALTER TABLE sessions ADD COLUMN starts_at DATETIME NULL, ADD COLUMN ends_at DATETIME NULL;
+
+UPDATE sessions
+SET starts_at = TIMESTAMP(session_date, start_time),
+    ends_at = DATE_ADD(TIMESTAMP(session_date, end_time), INTERVAL GREATEST(duration_days - 1, 0) DAY)
+WHERE starts_at IS NULL OR ends_at IS NULL;
+
+ALTER TABLE sessions
+  ADD INDEX idx_sessions_archived_starts (archived, starts_at),
+  ADD INDEX idx_sessions_group_range (group_id, starts_at, ends_at);
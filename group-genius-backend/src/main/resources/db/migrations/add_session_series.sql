@@ -0,0 +1,25 @@
+-- Migration: recurring session series (POST /api/sessions/series/...)
+
+-- Recurring session series; occurrences are expanded on read (SessionSeries)
+CREATE TABLE IF NOT EXISTS session_series (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  group_id BIGINT NOT NULL,
+  created_by BIGINT NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  description VARCHAR(1000) DEFAULT NULL,
+  meeting_link VARCHAR(500) DEFAULT NULL,
+  start_time TIME NOT NULL,
+  end_time TIME NOT NULL,
+  frequency VARCHAR(20) NOT NULL,
+  days_mask INT NOT NULL,
+  start_date DATE NOT NULL,
+  end_date DATE NOT NULL,
+  until_date DATE DEFAULT NULL,
+  occurrence_count INT DEFAULT NULL,
+  archived BOOLEAN NOT NULL DEFAULT FALSE,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id),
+  KEY idx_session_series_group_range (group_id, start_date, end_date),
+  CONSTRAINT fk_session_series_group FOREIGN KEY (group_id) REFERENCES `groups` (id) ON DELETE CASCADE,
+  CONSTRAINT fk_session_series_user FOREIGN KEY (created_by) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
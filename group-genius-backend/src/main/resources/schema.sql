@@ -56,13 +56,54 @@ CREATE TABLE IF NOT EXISTS `groups` (
   group_password VARCHAR(255) DEFAULT NULL,
   created_by BIGINT,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  deleted_at TIMESTAMP NULL DEFAULT NULL,
   PRIMARY KEY (id),
   KEY idx_groups_course (course_id),
   KEY idx_groups_created_by (created_by),
+  KEY idx_groups_created_id (created_at, id),
   CONSTRAINT fk_groups_course FOREIGN KEY (course_id) REFERENCES courses (id) ON DELETE SET NULL,
   CONSTRAINT fk_groups_user FOREIGN KEY (created_by) REFERENCES users (id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+-- Background purges of deleted groups (GroupDeletionJob)
+CREATE TABLE IF NOT EXISTS group_deletion_jobs (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  group_id BIGINT NOT NULL,
+  group_name VARCHAR(255) DEFAULT NULL,
+  requested_by BIGINT DEFAULT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  phase VARCHAR(30) NOT NULL,
+  rows_deleted BIGINT NOT NULL DEFAULT 0,
+  attempts INT NOT NULL DEFAULT 0,
+  last_error VARCHAR(500) DEFAULT NULL,
+  requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  completed_at TIMESTAMP NULL DEFAULT NULL,
+  lease_owner VARCHAR(64) DEFAULT NULL,
+  lease_until TIMESTAMP NULL DEFAULT NULL,
+  next_attempt_at TIMESTAMP NULL DEFAULT NULL,
+  version BIGINT DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY idx_group_deletion_group (group_id),
+  KEY idx_group_deletion_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Per-group activity rollups (GroupActivityTracker)
+CREATE TABLE IF NOT EXISTS group_activity_daily (
+  group_id BIGINT NOT NULL,
+  day DATE NOT NULL,
+  messages BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (group_id, day),
+  KEY idx_group_activity_daily_day (day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS group_activity_members (
+  group_id BIGINT NOT NULL,
+  day DATE NOT NULL,
+  user_id BIGINT NOT NULL,
+  PRIMARY KEY (group_id, day, user_id),
+  KEY idx_group_activity_members_day (day)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
 -- Group members table (mapped to Membership entity)
 CREATE TABLE IF NOT EXISTS group_members (
   id BIGINT NOT NULL AUTO_INCREMENT,
@@ -83,6 +124,7 @@ CREATE TABLE IF NOT EXISTS group_members (
   CREATE TABLE IF NOT EXISTS chat_messages (
     id BIGINT NOT NULL AUTO_INCREMENT,
     group_id BIGINT NOT NULL,
+    group_seq BIGINT DEFAULT NULL,
     sender_id BIGINT NOT NULL,
     content TEXT NOT NULL,
     `timestamp` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -90,10 +132,13 @@ CREATE TABLE IF NOT EXISTS group_members (
     message_type ENUM('TEXT','FILE','IMAGE','SYSTEM') DEFAULT 'TEXT',
     file_url TEXT DEFAULT NULL,
     reply_to_id BIGINT DEFAULT NULL,
-    deleted BOOLEAN DEFAULT FALSE,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
     edited BOOLEAN DEFAULT FALSE,
+    updated_at TIMESTAMP(6) NULL DEFAULT NULL,
     PRIMARY KEY (id),
-    KEY idx_chat_group (group_id),
+    KEY idx_chat_group_id (group_id, id),
+    KEY idx_chat_group_updated (group_id, updated_at),
+    UNIQUE KEY uk_chat_group_seq (group_id, group_seq),
     KEY idx_chat_sender (sender_id),
     KEY idx_chat_reply (reply_to_id),
     CONSTRAINT fk_chat_group FOREIGN KEY (group_id) REFERENCES `groups` (id) ON DELETE CASCADE,
@@ -101,6 +146,40 @@ CREATE TABLE IF NOT EXISTS group_members (
     CONSTRAINT fk_chat_reply FOREIGN KEY (reply_to_id) REFERENCES chat_messages (id) ON DELETE SET NULL
   ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+  -- Write-behind chat rows that could not be inserted (see ChatMessageWriteBehind)
+  CREATE TABLE IF NOT EXISTS chat_message_dead_letters (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message_id BIGINT DEFAULT NULL,
+    group_id BIGINT DEFAULT NULL,
+    sender_id BIGINT DEFAULT NULL,
+    group_seq BIGINT DEFAULT NULL,
+    content TEXT,
+    sent_at TIMESTAMP(6) NULL DEFAULT NULL,
+    message_type VARCHAR(20) DEFAULT NULL,
+    file_url TEXT DEFAULT NULL,
+    attachment_type VARCHAR(255) DEFAULT NULL,
+    attachment_name VARCHAR(255) DEFAULT NULL,
+    attachment_size BIGINT DEFAULT NULL,
+    error VARCHAR(1000) DEFAULT NULL,
+    failed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_chat_dead_letters_group (group_id)
+  ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+  -- Per-group blocks of chat group_seq numbers (see ChatSequenceAllocator)
+  CREATE TABLE IF NOT EXISTS chat_group_sequences (
+    group_id BIGINT NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (group_id)
+  ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+  -- Id blocks for write-behind chat inserts (see ChatMessageIdAllocator)
+  CREATE TABLE IF NOT EXISTS chat_id_sequence (
+    name VARCHAR(64) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (name)
+  ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
   -- Sessions table (linked to groups and users)
   CREATE TABLE IF NOT EXISTS sessions (
   id BIGINT NOT NULL AUTO_INCREMENT,
@@ -115,13 +194,49 @@ CREATE TABLE IF NOT EXISTS group_members (
   created_by BIGINT NOT NULL,
   archived BOOLEAN NOT NULL DEFAULT FALSE,
   archived_at TIMESTAMP DEFAULT NULL,
+  starts_at DATETIME DEFAULT NULL,
+  ends_at DATETIME DEFAULT NULL,
   PRIMARY KEY (id),
   KEY idx_sessions_group (group_id),
   KEY idx_sessions_created_by (created_by),
+  KEY idx_sessions_archived_starts (archived, starts_at),
+  KEY idx_sessions_group_range (group_id, starts_at, ends_at),
   CONSTRAINT fk_sessions_group FOREIGN KEY (group_id) REFERENCES `groups` (id) ON DELETE CASCADE,
   CONSTRAINT fk_sessions_user FOREIGN KEY (created_by) REFERENCES users (id) ON DELETE CASCADE
  ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+-- Where the next archival run resumes; a single row (see SessionArchivalService)
+CREATE TABLE IF NOT EXISTS session_archive_checkpoint (
+  id TINYINT NOT NULL,
+  starts_at DATETIME NOT NULL,
+  session_id BIGINT NOT NULL,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Recurring session series; occurrences are expanded on read (SessionSeries)
+CREATE TABLE IF NOT EXISTS session_series (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  group_id BIGINT NOT NULL,
+  created_by BIGINT NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  description VARCHAR(1000) DEFAULT NULL,
+  meeting_link VARCHAR(500) DEFAULT NULL,
+  start_time TIME NOT NULL,
+  end_time TIME NOT NULL,
+  frequency VARCHAR(20) NOT NULL,
+  days_mask INT NOT NULL,
+  start_date DATE NOT NULL,
+  end_date DATE NOT NULL,
+  until_date DATE DEFAULT NULL,
+  occurrence_count INT DEFAULT NULL,
+  archived BOOLEAN NOT NULL DEFAULT FALSE,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id),
+  KEY idx_session_series_group_range (group_id, start_date, end_date),
+  CONSTRAINT fk_session_series_group FOREIGN KEY (group_id) REFERENCES `groups` (id) ON DELETE CASCADE,
+  CONSTRAINT fk_session_series_user FOREIGN KEY (created_by) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
  -- Notification table
   CREATE TABLE IF NOT EXISTS notifications (
   id BIGINT NOT NULL AUTO_INCREMENT,
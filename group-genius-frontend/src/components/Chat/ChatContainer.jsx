@@ -2,6 +2,8 @@ import React, { useEffect, useState, useRef, forwardRef, useImperativeHandle } f
 import SockJS from "sockjs-client";
 import { Client } from "@stomp/stompjs";
 import MessageList from "./MessageList";
+import { chatAPI } from "@/lib/api/chatApi";
+import { tokenService } from "@/services/api";
 
 // Resolve WebSocket URL from env, with robust fallbacks
 const WS_URL = (import.meta?.env?.VITE_WS_URL)
@@ -13,6 +15,92 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
   const [typingUsers, setTypingUsers] = useState(new Map()); // Map<userId, {username, timeoutId}>
   const clientRef = useRef(null);
   const subRef = useRef(null);
+  const messagesRef = useRef([]);
+  const hasConnectedRef = useRef(false);
+  const syncedAtRef = useRef(null);
+  const lastSeqRef = useRef(0);
+
+  useEffect(() => {
+    messagesRef.current = messages;
+  }, [messages]);
+
+  // Insert messages by groupSeq; messages without a sequence keep their position
+  const mergeBySeq = (prev, incoming) => {
+    const seen = new Set(prev.map((m) => m.id));
+    const merged = prev.slice();
+    incoming
+      .filter((m) => !m.deleted && !seen.has(m.id))
+      .forEach((m) => {
+        const idx = merged.findIndex((x) => typeof x.groupSeq === 'number' && x.groupSeq > m.groupSeq);
+        if (idx === -1) merged.push(m);
+        else merged.splice(idx, 0, m);
+      });
+    return merged;
+  };
+
+  const noteSeq = (seq) => {
+    if (typeof seq === 'number' && seq > lastSeqRef.current) {
+      lastSeqRef.current = seq;
+    }
+  };
+
+  // A live message skipped ahead: after a short grace period (broadcasts can arrive slightly
+  // out of order) fetch exactly the missing sequence range
+  const backfillGap = (fromSeq, toSeq) => {
+    setTimeout(async () => {
+      const have = new Set(messagesRef.current.map((m) => m.groupSeq));
+      let missingFrom = fromSeq;
+      while (missingFrom <= toSeq && have.has(missingFrom)) missingFrom++;
+      if (missingFrom > toSeq) return;
+
+      const token = tokenService.getToken();
+      if (!token) return;
+      try {
+        const missing = await chatAPI.getRange(token, groupId, missingFrom, toSeq);
+        setMessages((prev) => mergeBySeq(prev, missing || []));
+      } catch (err) {
+        console.error("Chat gap backfill failed", err);
+      }
+    }, 1000);
+  };
+
+  // After a reconnect, fetch only what was missed instead of reloading the whole history
+  const resyncMissed = async () => {
+    const token = tokenService.getToken();
+    let afterId = messagesRef.current.reduce((max, m) => (typeof m.id === 'number' && m.id > max ? m.id : max), 0);
+    if (!token || afterId === 0) return;
+
+    try {
+      let page;
+      let firstSyncedAt = null;
+      do {
+        page = await chatAPI.sync(token, groupId, afterId, syncedAtRef.current ?? undefined);
+        if (page.reloadRequired) {
+          const history = await chatAPI.getHistory(token, groupId);
+          setMessages(history || []);
+          syncedAtRef.current = null;
+          return;
+        }
+        const deleted = new Set(page.deletedIds || []);
+        const edited = new Map((page.edited || []).map((m) => [m.id, m]));
+        const incoming = page.messages || [];
+        setMessages((prev) => {
+          const seen = new Set(prev.map((m) => m.id));
+          const merged = prev
+            .filter((m) => !deleted.has(m.id))
+            .map((m) => (edited.has(m.id) ? { ...m, ...edited.get(m.id) } : m));
+          return [...merged, ...incoming.filter((m) => !seen.has(m.id))];
+        });
+        incoming.forEach((m) => noteSeq(m.groupSeq));
+        afterId = page.lastId ?? afterId;
+        firstSyncedAt = firstSyncedAt ?? page.syncedAt;
+      } while (page.hasMore);
+      // The first page's watermark covers every change made while the later pages were fetched
+      syncedAtRef.current = firstSyncedAt;
+    } catch (err) {
+      console.error("Chat resync failed", err);
+    }
+  };
 
   // Expose sendMessage and handleTyping functions to parent component via ref
   useImperativeHandle(ref, () => ({
@@ -136,6 +224,9 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
   }));
   console.log('[ChatContainer] Setting initial messages:', norm.length, norm);
   setMessages(norm);
+  lastSeqRef.current = norm.reduce((max, m) => (typeof m.groupSeq === 'number' && m.groupSeq > max ? m.groupSeq : max), 0);
+  hasConnectedRef.current = false;
+  syncedAtRef.current = null;
 
     // create a new STOMP client for this group
     const client = new Client({
@@ -150,6 +241,10 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
 
     client.onConnect = () => {
       setConnected(true);
+      if (hasConnectedRef.current) {
+        void resyncMissed();
+      }
+      hasConnectedRef.current = true;
       try {
         // subscribe to the group's topic
         // ensure no duplicate subscription if reconnect fires
@@ -167,6 +262,14 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
               ...payload,
               sender: payload.sender ?? (payload.senderId && userId && payload.senderId === userId ? username : payload.sender || ""),
             };
+            // Detect skipped sequence numbers (edits re-send an older groupSeq and are ignored here)
+            if (typeof normalized.groupSeq === 'number') {
+              const expected = lastSeqRef.current + 1;
+              if (lastSeqRef.current > 0 && normalized.groupSeq > expected) {
+                backfillGap(expected, normalized.groupSeq - 1);
+              }
+              noteSeq(normalized.groupSeq);
+            }
             setMessages((prev) => {
               if (normalized.clientMessageId) {
                 const idx = prev.findIndex(m => m.clientMessageId && m.clientMessageId === normalized.clientMessageId);
@@ -218,27 +321,34 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
           try {
             const payload = JSON.parse(message.body);
             console.log('[WS TYPING]', { groupId, payload, currentUserId: userId });
-            const { userId: typingUserId, username: typingUsername, isTyping } = payload;
-            
-            // Ignore typing events from current user
-            if (typingUserId === userId) {
-              console.log('[WS TYPING] Ignoring own typing event');
-              return;
-            }
-            
-            console.log('[WS TYPING] Processing typing event:', { typingUserId, typingUsername, isTyping });
+            // Server sends one coalesced frame per group: { groupId, typing: [{ userId, username }], stopped: [userId] }
+            // Entries in `typing` are refreshed (the server re-sends them while the user keeps typing);
+            // users missing from a frame are not removed, since other nodes may list them.
+            const typing = Array.isArray(payload.typing) ? payload.typing : [];
+            const stopped = Array.isArray(payload.stopped) ? payload.stopped : [];
 
             setTypingUsers((prev) => {
               const newMap = new Map(prev);
-              
-              if (isTyping) {
+
+              stopped.forEach((stoppedUserId) => {
+                const existing = newMap.get(stoppedUserId);
+                if (existing?.timeoutId) {
+                  clearTimeout(existing.timeoutId);
+                }
+                newMap.delete(stoppedUserId);
+              });
+
+              typing.forEach(({ userId: typingUserId, username: typingUsername }) => {
+                // Ignore typing events from current user
+                if (typingUserId === userId) return;
+
                 // Clear existing timeout for this user if any
                 const existing = newMap.get(typingUserId);
                 if (existing?.timeoutId) {
                   clearTimeout(existing.timeoutId);
                 }
-                
-                // Set new timeout to auto-remove typing indicator after 3 seconds
+
+                // Auto-remove if no refresh arrives (server keep-alive is every 2 seconds)
                 const timeoutId = setTimeout(() => {
                   setTypingUsers((current) => {
                     const updated = new Map(current);
@@ -246,17 +356,10 @@ const ChatContainer = forwardRef(({ groupId, username, userId, initialMessages =
                     return updated;
                   });
                 }, 3000);
-                
+
                 newMap.set(typingUserId, { username: typingUsername, timeoutId });
-              } else {
-                // User stopped typing - clear timeout and remove from map
-                const existing = newMap.get(typingUserId);
-                if (existing?.timeoutId) {
-                  clearTimeout(existing.timeoutId);
-                }
-                newMap.delete(typingUserId);
-              }
-              
+              });
+
               return newMap;
             });
           } catch (err) {
@@ -18,6 +18,45 @@ export const chatAPI = {
 
     return response.json();
   },
+  // Delta sync after a reconnect: messages after `afterId`, plus edits/deletes since `since`
+  sync: async (token: string, groupId: number, afterId: number, since?: string) => {
+    const params = new URLSearchParams({ afterId: String(afterId) });
+    if (since) {
+      params.append('since', since);
+    }
+    const response = await fetch(`${API_BASE_URL}/chat/${groupId}/sync?${params.toString()}`, {
+      method: 'GET',
+      headers: {
+        Authorization: `Bearer ${token}`,
+        'Content-Type': 'application/json',
+      },
+    });
+
+    if (!response.ok) {
+      const err = await response.text();
+      throw new Error(err || 'Failed to sync chat');
+    }
+
+    return response.json();
+  },
+  // Gap backfill: messages with fromSeq <= groupSeq <= toSeq (deleted ones flagged `deleted`)
+  getRange: async (token: string, groupId: number, fromSeq: number, toSeq: number) => {
+    const params = new URLSearchParams({ fromSeq: String(fromSeq), toSeq: String(toSeq) });
+    const response = await fetch(`${API_BASE_URL}/chat/${groupId}/messages/range?${params.toString()}`, {
+      method: 'GET',
+      headers: {
+        Authorization: `Bearer ${token}`,
+        'Content-Type': 'application/json',
+      },
+    });
+
+    if (!response.ok) {
+      const err = await response.text();
+      throw new Error(err || 'Failed to fetch missing messages');
+    }
+
+    return response.json();
+  },
   uploadAttachment: async (
     token: string,
     groupId: number,
@@ -1035,6 +1035,9 @@ export default function Groups() {
                               </div>
                             </div>
                           </div>
+                          <p className="text-xs text-muted-foreground mt-2">
+                            {group.messagesToday ?? 0} messages today · {group.activeMembers7d ?? 0} active this week · {group.upcomingSessions ?? 0} upcoming sessions
+                          </p>
                         </div>
 
                         {/* Action Buttons */}
@@ -9,6 +9,10 @@ export interface Group {
   membershipStatus?: 'APPROVED' | 'PENDING' | 'NOT_MEMBER' | null;
   membershipRole?: 'ADMIN' | 'MEMBER' | null;
   memberCount?: number;
+  // Live activity stats from the group search endpoint
+  messagesToday?: number;
+  activeMembers7d?: number;
+  upcomingSessions?: number;
 }
 
 export interface GroupCreateRequest {